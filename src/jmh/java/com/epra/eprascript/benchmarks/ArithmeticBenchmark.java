@@ -0,0 +1,76 @@
+package com.epra.eprascript.benchmarks;
+
+import com.epra.eprascript.parsers.function.FunctionParser;
+import com.epra.eprascript.parsers.math.ArithmeticParsers;
+import com.epra.eprascript.parsers.math.CompiledExpression;
+import com.epra.eprascript.parsers.math.ExpressionCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks for evaluating arithmetic, with [ArithmeticParsers#ARITHMETIC], [ArithmeticParsers#EXPRESSION]
+/// and a [CompiledExpression].
+///
+/// Expressions alternate `+` and `*` between `terms` numbers, and are then nested `depth` times as `(e+1)`.
+/// @author Striker-909
+/// @since v0.3.0
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArithmeticBenchmark {
+    /// The number of numbers in the expression.
+    @Param({"4", "64", "256"})
+    public int terms;
+
+    /// The number of parentheses the expression is nested in.
+    @Param({"0", "4", "16"})
+    public int depth;
+
+    private String expression;
+    private CompiledExpression compiled;
+
+    @Setup
+    public void setup() {
+        StringBuilder e = new StringBuilder("1");
+        for (int i = 1; i < terms; i++) {
+            e.append(i % 2 == 0 ? '+' : '*').append(i % 9 + 1);
+        }
+        String nested = e.toString();
+        for (int i = 0; i < depth; i++) {
+            nested = "(" + nested + "+1)";
+        }
+        expression = nested;
+        compiled = new ExpressionCompiler().compile(expression);
+    }
+
+    @Benchmark
+    public Object arithmetic() {
+        try (var scope = FunctionParser.openScope()) {
+            String text = ArithmeticParsers.ARITHMETIC.recursiveReplaceAll(expression, FunctionParser::supplierToAddress);
+            return FunctionParser.FUNCTION_FETCHER.parse(text).value().get();
+        }
+    }
+
+    @Benchmark
+    public double expressionParser() {
+        return ArithmeticParsers.EXPRESSION.evaluate(expression, name -> 0);
+    }
+
+    @Benchmark
+    public double compiled() {
+        return compiled.eval(new double[0]);
+    }
+}
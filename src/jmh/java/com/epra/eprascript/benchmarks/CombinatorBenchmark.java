@@ -0,0 +1,61 @@
+package com.epra.eprascript.benchmarks;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.alphanumeric.CharParser;
+import com.epra.eprascript.parsers.alphanumeric.RegExParser;
+import com.epra.eprascript.parsers.modifiers.Combinator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks for each [Combinator], combining a [CharParser] and a [RegExParser] so that `or` is not fused.
+/// @author Striker-909
+/// @since v0.3.0
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombinatorBenchmark {
+    /// The combinator to benchmark.
+    @Param({"OR", "AND", "AND_1", "AND_2", "SEQUENCE"})
+    public String combinator;
+
+    /// The number of characters before the first match.
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private Parser<?> parser;
+    private String text;
+
+    @Setup
+    public void setup() {
+        Combinator c = switch (combinator) {
+            case "OR" -> Combinator.OR;
+            case "AND" -> Combinator.AND;
+            case "AND_1" -> Combinator.AND_1;
+            case "AND_2" -> Combinator.AND_2;
+            case "SEQUENCE" -> Combinator.SEQUENCE;
+            default -> throw new IllegalArgumentException(combinator);
+        };
+        parser = c.combine(new CharParser('+'), new RegExParser("\\d+"));
+        text = "x".repeat(size) + "12+34";
+    }
+
+    @Benchmark
+    public Token<?> combined() {
+        return parser.parse(text);
+    }
+}
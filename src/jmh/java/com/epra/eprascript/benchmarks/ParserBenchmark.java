@@ -0,0 +1,71 @@
+package com.epra.eprascript.benchmarks;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.alphanumeric.CharParser;
+import com.epra.eprascript.parsers.alphanumeric.RegExParser;
+import com.epra.eprascript.parsers.math.NumberParsers;
+import com.epra.eprascript.parsers.modifiers.Map;
+import com.epra.eprascript.parsers.primitive.DoubleToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks for the basic parsers, on inputs where the match is at the end so the whole input is scanned.
+/// @author Striker-909
+/// @since v0.3.0
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    /// The number of characters before the match.
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private final CharParser plus = new CharParser('+');
+    private final RegExParser decimal = new RegExParser("\\d+\\.\\d+");
+    private final Parser<ArrayList<Character>> many1 = new Map.Many1<Character>().map(new CharParser('a'));
+
+    private String text;
+    private String letters;
+
+    @Setup
+    public void setup() {
+        text = "x".repeat(size) + "+-123.456";
+        letters = "a".repeat(size) + "b";
+    }
+
+    @Benchmark
+    public Token<Character> charParser() {
+        return plus.parse(text);
+    }
+
+    @Benchmark
+    public Token<String> regExParser() {
+        return decimal.parse(text);
+    }
+
+    @Benchmark
+    public DoubleToken doubleParser() {
+        return NumberParsers.DOUBLE_PARSER.parseDouble(text);
+    }
+
+    @Benchmark
+    public Token<ArrayList<Character>> many1() {
+        return many1.parse(letters);
+    }
+}
@@ -0,0 +1,69 @@
+package com.epra.eprascript.benchmarks;
+
+import com.epra.eprascript.Evaluator;
+import com.epra.eprascript.parsers.function.EvaluationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks for the whole pipeline of `Main`: assignment, [`recursiveReplaceAll`](com.epra.eprascript.parsers.Parser)
+/// and [`FUNCTION_FETCHER`](com.epra.eprascript.parsers.function.FunctionParser#FUNCTION_FETCHER), through an
+/// [Evaluator].
+/// @author Striker-909
+/// @since v0.3.0
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+    /// The number of assigned variables.
+    @Param({"1", "100", "1000"})
+    public int variables;
+
+    /// The number of parentheses the expression is nested in.
+    @Param({"0", "4", "16"})
+    public int depth;
+
+    private final Evaluator evaluator = new Evaluator();
+    private EvaluationContext context;
+    private String expression;
+    private String assignment;
+
+    @Setup
+    public void setup() {
+        context = new EvaluationContext();
+        context.run(() -> {
+            for (int i = 0; i < variables; i++) {
+                evaluator.evaluate("v" + i + "=" + i);
+            }
+        });
+        String nested = "v0*2+v" + (variables - 1);
+        for (int i = 0; i < depth; i++) {
+            nested = "(" + nested + "+1)";
+        }
+        expression = nested;
+        assignment = "y=" + nested;
+    }
+
+    @Benchmark
+    public Evaluator.Result assignment() {
+        return context.call(() -> evaluator.evaluate(assignment));
+    }
+
+    @Benchmark
+    public Evaluator.Result expression() {
+        return context.call(() -> evaluator.evaluate(expression));
+    }
+}
@@ -0,0 +1,84 @@
+package com.epra.eprascript.benchmarks;
+
+import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.alphanumeric.CharClassParser;
+import com.epra.eprascript.parsers.alphanumeric.CharScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks for searching for the operators of an expression with a [CharScanner], on inputs where the only
+/// operator is at the end. The `vector` benchmarks run with the Vector API, and the `scalar` ones without it.
+/// @author Striker-909
+/// @since v0.3.0
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ScanBenchmark {
+    /// The number of characters before the operator.
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    private final CharClassParser operators = new CharClassParser("+-*/^%");
+    private final CharScanner scanner = new CharScanner('+', '-', '*', '/', '^', '%');
+
+    private String text;
+    private char[] chars;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        text = "x".repeat(size) + "+";
+        chars = text.toCharArray();
+        bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public Token<Character> scalarCharClassParser() {
+        return operators.parse(text);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public Token<Character> vectorCharClassParser() {
+        return operators.parse(text);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public int scalarChars() {
+        return scanner.indexIn(chars, 0, chars.length);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public int vectorChars() {
+        return scanner.indexIn(chars, 0, chars.length);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public int scalarBytes() {
+        return scanner.indexIn(bytes, 0, bytes.length);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public int vectorBytes() {
+        return scanner.indexIn(bytes, 0, bytes.length);
+    }
+}
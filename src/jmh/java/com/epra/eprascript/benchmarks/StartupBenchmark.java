@@ -0,0 +1,38 @@
+package com.epra.eprascript.benchmarks;
+
+import com.epra.eprascript.Evaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks for the time to the first evaluated result in a fresh JVM, including loading and initializing
+/// the grammar classes.
+///
+/// Each fork measures a single evaluation, so the result is the cold start cost averaged over the forks.
+/// Run with `gradle jmh -Pjmh.includes=StartupBenchmark`.
+/// @author Striker-909
+/// @since v0.3.0
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+    @Benchmark
+    public Evaluator.Result firstResult() {
+        return new Evaluator().evaluate("1+2*3");
+    }
+
+    @Benchmark
+    public Evaluator.Result firstAssignmentAndResult() {
+        Evaluator evaluator = new Evaluator();
+        evaluator.evaluate("x=5");
+        return evaluator.evaluate("(x+1)*2");
+    }
+}
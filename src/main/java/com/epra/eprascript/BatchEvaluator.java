@@ -0,0 +1,83 @@
+package com.epra.eprascript;
+
+import com.epra.eprascript.parsers.function.EvaluationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/// Evaluates batches of independent lines in parallel with an [Evaluator].
+///
+/// Each batch is evaluated in a new [EvaluationContext], so batches never see each other's variables.
+/// Within a batch, every line is evaluated in a [fork](EvaluationContext#fork()) of the batch context, which shares
+/// the variables of the batch but has its own supplier registry. Lines are evaluated in no particular order, so a
+/// variable assigned in a batch is only guaranteed to be visible to the lines of later batches that are given the
+/// same context with [BatchEvaluator#evaluate(List, EvaluationContext)]. Assignments within a batch are unordered
+/// too: when two lines assign the same variable, either may be the one that is kept. Assignments also take turns
+/// updating the variables of the batch, so batches of mostly assignments gain little from more threads.
+///
+/// All threads share the [StatementCache] of the evaluator, which is split into segments so that they rarely
+/// wait for each other.
+///
+/// Results are returned in the order of the lines. An exception thrown while evaluating a line becomes the
+/// [`Failed`](Evaluator.Result.Failed) result of that line and does not stop the rest of the batch.
+/// @author Striker-909
+/// @since v0.3.0
+public class BatchEvaluator implements AutoCloseable {
+    private final Evaluator evaluator;
+    private final ForkJoinPool pool;
+
+    /// Evaluates batches of independent lines in parallel with an [Evaluator].
+    /// @param evaluator The evaluator for each line
+    /// @param parallelism The number of threads to evaluate with
+    public BatchEvaluator(Evaluator evaluator, int parallelism) {
+        this.evaluator = evaluator;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /// Evaluates batches of independent lines in parallel, with one thread for each available processor.
+    public BatchEvaluator() {
+        this(new Evaluator(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /// Evaluates a batch of lines in a new [EvaluationContext].
+    /// @param lines The lines to evaluate
+    /// @return The result of each line, in the same order
+    public List<Evaluator.Result> evaluate(List<String> lines) {
+        return evaluate(lines, new EvaluationContext());
+    }
+
+    /// Evaluates a batch of lines in a new [EvaluationContext].
+    /// @param lines The lines to evaluate
+    /// @return The result of each line, in the same order
+    public List<Evaluator.Result> evaluate(Stream<String> lines) {
+        return evaluate(lines.toList());
+    }
+
+    /// Evaluates a batch of lines with the variables of an [EvaluationContext].
+    /// @param lines The lines to evaluate
+    /// @param context The context whose variables the lines use and assign
+    /// @return The result of each line, in the same order
+    public List<Evaluator.Result> evaluate(List<String> lines, EvaluationContext context) {
+        Evaluator.Result[] results = new Evaluator.Result[lines.size()];
+        pool.submit(() -> IntStream.range(0, results.length).parallel().forEach(
+                i -> results[i] = evaluate(lines.get(i), context.fork())
+        )).join();
+        return Arrays.asList(results);
+    }
+
+    private Evaluator.Result evaluate(String line, EvaluationContext context) {
+        try {
+            return context.call(() -> evaluator.evaluate(line));
+        } catch (RuntimeException e) {
+            return new Evaluator.Result.Failed(e);
+        }
+    }
+
+    /// Shuts down the threads of this evaluator.
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,256 @@
+package com.epra.eprascript;
+
+import com.epra.eprascript.parsers.function.EvaluationContext;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// Evaluates lines sent over a Unix domain socket, so that clients do not start a JVM for every evaluation.
+///
+/// Each connection is a session with its own [Evaluator] and [EvaluationContext], served on its own virtual
+/// thread, so sessions never see each other's variables. The grammar is shared, and initialized when the server
+/// is opened.
+///
+/// The protocol is UTF-8 text, one request per line and one response per line, in the same order. Lines end with a
+/// line feed, optionally preceded by a carriage return. Clients may send any number of requests before reading the
+/// responses; responses are flushed once no more requests are buffered.
+///
+/// | Request | Response |
+/// |---------|----------|
+/// | A line that evaluates to a value, such as `(x+1)*2` | `VALUE <value>` |
+/// | An assignment, such as `x=5` | `ASSIGNED <name> <value>` |
+/// | A line that is not a valid function | `INVALID` |
+/// | An assignment that would make a variable depend on itself through other variables | `CIRCULAR <name> -> ... -> <name>` |
+/// | A line that throws while being evaluated | `ERROR <message>` |
+/// | `:stats` | `STATS count=<n> p50=<us> p90=<us> p99=<us> p999=<us> max=<us>` |
+/// | `:reset` | `RESET`, after removing every variable of the session |
+/// | A line longer than `65536` characters | `ERROR Request longer than 65536 characters`, without reading more of it into memory than the limit |
+///
+/// `:stats` reports the latencies of the evaluations of the session so far, in microseconds, from reading a
+/// request to writing its response, not including the time spent in the socket.
+///
+/// Thread-safe.
+/// @author Striker-909
+/// @since v0.3.0
+public class EvaluationServer implements AutoCloseable {
+    private static final System.Logger LOG = System.getLogger(EvaluationServer.class.getName());
+    /// The shortest and longest waits before accepting again after accepting fails.
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+    /// The longest request, in characters.
+    private static final int MAX_REQUEST_LENGTH = 1 << 16;
+
+    private final Path socket;
+    private final ServerSocketChannel server;
+    private final int cacheCapacity;
+    private final Set<SocketChannel> sessions = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+
+    private EvaluationServer(Path socket, ServerSocketChannel server, int cacheCapacity) {
+        this.socket = socket;
+        this.server = server;
+        this.cacheCapacity = cacheCapacity;
+        this.acceptor = Thread.ofPlatform().name("eprascript-server").unstarted(this::accept);
+    }
+
+    /// Opens a server on a new socket file and starts accepting connections.
+    /// @param socket The path of the socket file, which must not exist
+    /// @param cacheCapacity The capacity of the [StatementCache] of each session
+    /// @return The server
+    /// @throws IOException If the socket cannot be bound, such as when the file already exists
+    public static EvaluationServer open(Path socket, int cacheCapacity) throws IOException {
+        // Initializes the grammar before the first connection, not during its first request
+        new EvaluationContext().call(() -> new Evaluator(0).evaluate("0+0"));
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            server.bind(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        EvaluationServer evaluationServer = new EvaluationServer(socket, server, cacheCapacity);
+        evaluationServer.acceptor.start();
+        return evaluationServer;
+    }
+
+    /// Opens a server on a new socket file and starts accepting connections, caching the plans of up to `1024`
+    /// lines for each session.
+    /// @param socket The path of the socket file, which must not exist
+    /// @return The server
+    /// @throws IOException If the socket cannot be bound, such as when the file already exists
+    public static EvaluationServer open(Path socket) throws IOException {
+        return open(socket, 1024);
+    }
+
+    /// Accepts connections until the server is closed.
+    ///
+    /// Errors such as running out of file descriptors usually last a while, so after a failed accept the acceptor
+    /// logs the error and waits before trying again, doubling the wait up to a second while accepting keeps failing.
+    private void accept() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (server.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                LOG.log(System.Logger.Level.WARNING, "Accepting a connection on " + socket + " failed, retrying in " + backoff + " ms", e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+                continue;
+            }
+            backoff = MIN_BACKOFF_MILLIS;
+            sessions.add(channel);
+            Thread.ofVirtual().name("eprascript-session").start(() -> serve(channel));
+        }
+    }
+
+    /// Serves the requests of a connection until the client closes it.
+    private void serve(SocketChannel channel) {
+        try (channel;
+             BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8))) {
+            Session session = new Session(cacheCapacity);
+            StringBuilder request = new StringBuilder();
+            int length;
+            while ((length = readRequest(in, request)) != -1) {
+                out.write(length > MAX_REQUEST_LENGTH
+                        ? "ERROR Request longer than " + MAX_REQUEST_LENGTH + " characters"
+                        : session.respond(request.toString()));
+                out.newLine();
+                // Pipelined requests are answered together
+                if (!in.ready()) out.flush();
+            }
+        } catch (IOException e) {
+            // The connection was closed by the client or the server
+        } finally {
+            sessions.remove(channel);
+        }
+    }
+
+    /// Reads the next request into a buffer, keeping no more of a request that is too long than the limit.
+    /// @return The length of the request, which may be longer than the buffer, or `-1` at the end of the stream
+    private static int readRequest(BufferedReader in, StringBuilder request) throws IOException {
+        request.setLength(0);
+        int length = 0;
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            // One more character than the limit, in case it is the carriage return before the line feed
+            if (length++ <= MAX_REQUEST_LENGTH) request.append((char) c);
+        }
+        if (c == -1 && length == 0) return -1;
+        if (length <= MAX_REQUEST_LENGTH + 1 && length > 0 && request.charAt(length - 1) == '\r') {
+            request.setLength(--length);
+        }
+        return length;
+    }
+
+    /// The state of a connection.
+    private static final class Session {
+        private final int cacheCapacity;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private EvaluationContext context = new EvaluationContext();
+        private Evaluator evaluator;
+
+        private Session(int cacheCapacity) {
+            this.cacheCapacity = cacheCapacity;
+            this.evaluator = new Evaluator(cacheCapacity);
+        }
+
+        /// Returns the response to a request.
+        private String respond(String line) {
+            if (line.equals(":stats")) return stats();
+            if (line.equals(":reset")) {
+                context = new EvaluationContext();
+                evaluator = new Evaluator(cacheCapacity);
+                return "RESET";
+            }
+            if (line.startsWith(":")) return "ERROR Unknown command " + line;
+            long start = System.nanoTime();
+            String response;
+            EvaluationContext.Entered entered = context.enter();
+            try {
+                response = switch (evaluator.evaluate(line)) {
+                    case Evaluator.Result.Value v -> "VALUE " + v.value();
+                    case Evaluator.Result.Assigned a -> "ASSIGNED " + a.name() + " " + a.value();
+                    case Evaluator.Result.Invalid i -> "INVALID";
+                    case Evaluator.Result.Circular c -> "CIRCULAR " + String.join(" -> ", c.cycle());
+                    case Evaluator.Result.Failed f -> error(f.error());
+                };
+            } catch (RuntimeException e) {
+                response = error(e);
+            } finally {
+                entered.close();
+            }
+            latencies.record(System.nanoTime() - start);
+            return response;
+        }
+
+        private static String error(RuntimeException e) {
+            String message = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+            return "ERROR " + message.replace('\n', ' ').replace('\r', ' ');
+        }
+
+        private String stats() {
+            return String.format(Locale.ROOT, "STATS count=%d p50=%.1f p90=%.1f p99=%.1f p999=%.1f max=%.1f",
+                    latencies.count(),
+                    latencies.percentile(50) / 1e3,
+                    latencies.percentile(90) / 1e3,
+                    latencies.percentile(99) / 1e3,
+                    latencies.percentile(99.9) / 1e3,
+                    latencies.max() / 1e3);
+        }
+    }
+
+    /// Returns the path of the socket file.
+    /// @return The path
+    public Path socket() {
+        return socket;
+    }
+
+    /// Returns the number of connections being served.
+    /// @return The number of connections
+    public int sessions() {
+        return sessions.size();
+    }
+
+    /// Waits until the server is closed.
+    /// @throws InterruptedException If the current thread is interrupted while waiting
+    public void await() throws InterruptedException {
+        acceptor.join();
+    }
+
+    /// Stops accepting connections, closes every connection and deletes the socket file.
+    /// @throws IOException If the socket file cannot be deleted
+    public void close() throws IOException {
+        server.close();
+        for (SocketChannel channel : sessions) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Closing the rest of the connections matters more
+            }
+        }
+        Files.deleteIfExists(socket);
+    }
+}
@@ -0,0 +1,135 @@
+package com.epra.eprascript;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.alphanumeric.CharParser;
+import com.epra.eprascript.parsers.alphanumeric.RegExParser;
+import com.epra.eprascript.parsers.function.AssignmentParser;
+import com.epra.eprascript.parsers.function.CircularDependencyException;
+import com.epra.eprascript.parsers.function.EvaluationContext;
+import com.epra.eprascript.parsers.function.FunctionParser;
+import com.epra.eprascript.parsers.function.StatementPlan;
+import com.epra.eprascript.parsers.function.SupplierRegistry;
+import com.epra.eprascript.parsers.math.ArithmeticParsers;
+import com.epra.eprascript.parsers.math.NumberParsers;
+import com.epra.eprascript.parsers.modifiers.Combinator;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/// Evaluates single lines of arithmetic and variable assignments, such as `x=5` or `(x+1)*2`.
+///
+/// Lines are evaluated in the current [EvaluationContext], and every [Supplier] registered while evaluating a line
+/// is released when the line is done. Assigning a variable recomputes the variables that were assigned from it,
+/// and an assignment that reads the variable itself, such as `x=x+1`, uses its previous value. The grammar holds
+/// no state, so one evaluator can be used from any number of threads at once, each in its own context.
+/// @author Striker-909
+/// @since v0.3.0
+public class Evaluator {
+
+    /// The outcome of evaluating a line.
+    public sealed interface Result {
+        /// A line that evaluated to a value.
+        /// @param value The value
+        record Value(Object value) implements Result {}
+
+        /// A line that assigned a value to a variable.
+        /// @param name The name of the variable
+        /// @param value The text of the assigned value
+        record Assigned(String name, String value) implements Result {}
+
+        /// A line that is not a valid function.
+        record Invalid() implements Result {}
+
+        /// An assignment that was not made because the variable would depend on itself through other variables.
+        /// @param cycle The names of the variables in the cycle, starting and ending with the assigned variable
+        record Circular(List<String> cycle) implements Result {}
+
+        /// A line that could not be evaluated because of an exception.
+        /// @param error The exception
+        record Failed(RuntimeException error) implements Result {}
+    }
+
+    private static final CharParser WHITESPACE = new CharParser(' ');
+    private static final RegExParser NON_NUMERIC = new RegExParser("[^\\d\\.-]");
+
+    private final Parser<?> parser = Combinator.SEQUENCE.combine(
+            AssignmentParser.ASSIGNMENT_FETCHER,
+            ArithmeticParsers.ARITHMETIC
+    );
+    private final AssignmentParser<?> assignment = new AssignmentParser<>(
+            ".+",
+            new Parser<>(
+                    s -> {
+                        String str = parser.recursiveReplaceAll(s, FunctionParser::supplierToAddress);
+                        if (!NON_NUMERIC.parse(str).success()) {
+                            return new Token<>(NumberParsers.DOUBLE_PARSER.parse(str).value(), "", "", true);
+                        }
+                        return new Token<>(
+                                FunctionParser.FUNCTION_FETCHER.parse(str).value().get(),
+                                "", "", true
+                        );
+                    }
+            )
+    );
+
+    private final StatementCache cache;
+
+    /// Evaluates single lines of arithmetic and variable assignments.
+    /// @param cacheCapacity The maximum number of lines whose [`StatementPlans`](StatementPlan) are cached.
+    ///                      A capacity of `0` disables the cache.
+    public Evaluator(int cacheCapacity) {
+        this.cache = new StatementCache(cacheCapacity);
+    }
+
+    /// Evaluates single lines of arithmetic and variable assignments, caching the plans of up to `1024` lines.
+    public Evaluator() {
+        this(1024);
+    }
+
+    /// Evaluates a line in the current [EvaluationContext].
+    ///
+    /// Spaces are ignored. Exceptions thrown while evaluating are not caught.
+    ///
+    /// Lines that evaluate to a value are cached as a [StatementPlan], so evaluating the same line again
+    /// applies the same functions to the current values of its variables without parsing the line.
+    /// @param line The line to evaluate
+    /// @return The outcome of evaluating the line
+    public Result evaluate(String line) {
+        String input = WHITESPACE.replaceAll(line, "");
+        StatementPlan plan = cache.get(input);
+        if (plan != null) {
+            return new Result.Value(plan.execute().get());
+        }
+        SupplierRegistry.Scope scope = FunctionParser.openScope();
+        try {
+            Token<?> aToken;
+            try {
+                aToken = assignment.parse(input);
+            } catch (CircularDependencyException e) {
+                return new Result.Circular(e.cycle());
+            }
+            if (aToken.success()) {
+                return new Result.Assigned(input.split("=")[0], input.split("=")[1]);
+            }
+            try (var recorder = StatementPlan.record(input)) {
+                String text = parser.recursiveReplaceAll(input, FunctionParser::supplierToAddress);
+                Token<Supplier<?>> supplier = FunctionParser.FUNCTION_FETCHER.parse(text);
+                if (supplier.success()) {
+                    plan = recorder.plan(supplier.value());
+                    if (plan != null) cache.put(input, plan);
+                    return new Result.Value(supplier.value().get());
+                }
+            }
+            return new Result.Invalid();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /// Returns the cache of the plans of evaluated lines.
+    /// @return The statement cache
+    public StatementCache cache() {
+        return cache;
+    }
+}
@@ -0,0 +1,83 @@
+package com.epra.eprascript;
+
+import java.util.Arrays;
+
+/// A histogram of latencies in nanoseconds, for reporting percentiles without keeping every sample.
+///
+/// Latencies are counted in buckets that each cover about 3% of their value, so a percentile is within 3% of the
+/// exact percentile of the samples, and the histogram takes the same 15 KB however many latencies it records.
+///
+/// Not thread-safe.
+/// @author Striker-909
+/// @since v0.3.0
+public class LatencyHistogram {
+    /// The number of bits of each latency below its highest bit that select its bucket.
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BITS) * SUB_BUCKETS];
+    private long count;
+    private long max;
+
+    /// Records a latency.
+    /// @param nanos The latency in nanoseconds. Negative latencies are recorded as `0`.
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    /// Returns the number of latencies recorded.
+    /// @return The number of latencies
+    public long count() {
+        return count;
+    }
+
+    /// Returns the highest latency recorded.
+    /// @return The latency in nanoseconds, or `0` if none were recorded
+    public long max() {
+        return max;
+    }
+
+    /// Returns the latency that a percentage of the recorded latencies are at or below.
+    /// @param percentile The percentage, from `0` to `100`
+    /// @return The highest latency of the bucket of the percentile in nanoseconds, or `0` if none were recorded
+    /// @throws IllegalArgumentException If the percentage is not from `0` to `100`
+    public long percentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be from 0 to 100: " + percentile);
+        }
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highest(i), max);
+        }
+        return max;
+    }
+
+    /// Removes every recorded latency.
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        max = 0;
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /// Returns the highest latency counted in a bucket.
+    private static long highest(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int shift = exponent - SUB_BITS;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
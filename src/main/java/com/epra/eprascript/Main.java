@@ -1,58 +1,44 @@
 package com.epra.eprascript;
 
-import com.epra.eprascript.parsers.Parser;
-import com.epra.eprascript.parsers.alphanumeric.CharParser;
-import com.epra.eprascript.parsers.alphanumeric.RegExParser;
-import com.epra.eprascript.parsers.function.AssignmentParser;
-import com.epra.eprascript.parsers.function.FunctionParser;
-import com.epra.eprascript.parsers.Token;
-import com.epra.eprascript.parsers.math.ArithmeticParsers;
-import com.epra.eprascript.parsers.math.NumberParsers;
-import com.epra.eprascript.parsers.modifiers.Combinator;
-
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
-import java.util.function.Supplier;
 
 public class Main {
-    public static void main(String[] args) {
-        CharParser whitespace = new CharParser(' ');
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 2 && args[0].equals("--serve")) {
+            serve(Path.of(args[1]));
+            return;
+        }
         Scanner scanner = new Scanner(System.in);
-        Parser<?> parser = Combinator.SEQUENCE.combine(
-                AssignmentParser.ASSIGNMENT_FETCHER,
-                ArithmeticParsers.ARITHMETIC
-        );
-        AssignmentParser<?> assignment = new AssignmentParser<>(
-                ".+",
-                new Parser<>(
-                        s -> {
-                            String str = parser.recursiveReplaceAll(s, FunctionParser::supplierToAddress);
-                            if (!new RegExParser("[^\\d\\.-]").parse(str).success()) {
-                                return new Token<>(NumberParsers.DOUBLE_PARSER.parse(str).value(), "", "", true);
-                            }
-                            return new Token<>(
-                                    FunctionParser.FUNCTION_FETCHER.parse(str).value().get(),
-                                    "", "", true
-                            );
-                        }
-                )
-        );
+        Evaluator evaluator = new Evaluator();
         while (true) {
             System.out.print("> ");
-            String input = whitespace.replaceAll(scanner.nextLine(), "");
-            Token <?> aToken = assignment.parse(input);
-            if (aToken.success()) {
-                System.out.println("Assigned value " + input.split("=")[1] + " to address " + input.split("=")[0]);
-                continue;
-            }
-            String text = parser.recursiveReplaceAll(input, FunctionParser::supplierToAddress);
-            Token<Supplier<?>> supplier = FunctionParser.FUNCTION_FETCHER.parse(text);
-            //System.out.println(text);
-            //System.out.println(supplier);
-            if (supplier.success()) {
-                System.out.println(supplier.value().get());
-            } else {
-                System.out.println("Invalid function");
+            if (!scanner.hasNextLine()) { return; }
+            switch (evaluator.evaluate(scanner.nextLine())) {
+                case Evaluator.Result.Assigned a ->
+                        System.out.println("Assigned value " + a.value() + " to address " + a.name());
+                case Evaluator.Result.Value v -> System.out.println(v.value());
+                case Evaluator.Result.Invalid i -> System.out.println("Invalid function");
+                case Evaluator.Result.Circular c ->
+                        System.out.println("Circular dependency: " + String.join(" -> ", c.cycle()));
+                case Evaluator.Result.Failed f -> throw f.error();
             }
         }
     }
-}
\ No newline at end of file
+
+    /// Serves evaluations on a Unix domain socket until the JVM is shut down.
+    /// @param socket The path of the socket file
+    private static void serve(Path socket) throws IOException, InterruptedException {
+        EvaluationServer server = EvaluationServer.open(socket);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.err.println("Could not delete " + socket + ": " + e.getMessage());
+            }
+        }));
+        System.out.println("Listening on " + socket);
+        server.await();
+    }
+}
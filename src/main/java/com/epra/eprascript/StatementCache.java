@@ -0,0 +1,181 @@
+package com.epra.eprascript;
+
+import com.epra.eprascript.parsers.function.StatementPlan;
+
+import java.util.LinkedHashMap;
+
+/// A bounded cache of [`StatementPlans`](StatementPlan) by the normalized text of their statements, used by
+/// [Evaluator] to evaluate repeated lines without parsing them again.
+///
+/// The least recently used plans are evicted first. A plan that is no longer
+/// [current](StatementPlan#isCurrent()) counts as a miss and is removed.
+///
+/// Thread-safe. Large caches are split by the hash of the statement into segments with their own locks, so that
+/// threads evaluating with the same [Evaluator] rarely wait for each other. Each segment evicts its own least
+/// recently used plans.
+/// @author Striker-909
+/// @since v0.3.0
+public class StatementCache {
+    /// The smallest number of plans in a segment.
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+    /// The largest number of segments.
+    private static final int MAX_SEGMENTS = 16;
+
+    /// The plans of the statements whose hashes select it, with their own lock and counters.
+    private static final class Segment {
+        private final int capacity;
+        private final LinkedHashMap<String, StatementPlan> plans;
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long stale;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(java.util.Map.Entry<String, StatementPlan> eldest) {
+                    if (size() <= Segment.this.capacity) return false;
+                    evictions++;
+                    return true;
+                }
+            };
+        }
+
+        private synchronized StatementPlan get(String statement) {
+            StatementPlan plan = plans.get(statement);
+            if (plan != null && !plan.isCurrent()) {
+                plans.remove(statement);
+                stale++;
+                plan = null;
+            }
+            if (plan == null) misses++; else hits++;
+            return plan;
+        }
+
+        private synchronized void put(String statement, StatementPlan plan) {
+            plans.put(statement, plan);
+        }
+
+        private synchronized void clear() {
+            plans.clear();
+        }
+
+        private synchronized void resetCounters() {
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+            stale = 0;
+        }
+    }
+
+    private final int capacity;
+    private final Segment[] segments;
+
+    /// A bounded cache of [`StatementPlans`](StatementPlan) by the normalized text of their statements.
+    /// @param capacity The maximum number of plans. A capacity of `0` disables the cache.
+    public StatementCache(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Cache capacity must not be negative: " + capacity);
+        this.capacity = capacity;
+        int count = Math.max(1, Math.min(MAX_SEGMENTS, capacity / MIN_SEGMENT_CAPACITY));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // Spread the capacity so that the segments hold `capacity` plans together
+            segments[i] = new Segment(capacity / count + (i < capacity % count ? 1 : 0));
+        }
+    }
+
+    private Segment segment(String statement) {
+        int h = statement.hashCode();
+        return segments[Math.floorMod(h ^ (h >>> 16), segments.length)];
+    }
+
+    /// Returns the current plan for a statement.
+    /// @param statement The normalized text of the statement
+    /// @return The plan, or `null` if there is no current plan for the statement
+    public StatementPlan get(String statement) {
+        return segment(statement).get(statement);
+    }
+
+    /// Stores the plan for a statement.
+    /// @param statement The normalized text of the statement
+    /// @param plan The plan
+    public void put(String statement, StatementPlan plan) {
+        if (capacity > 0) segment(statement).put(statement, plan);
+    }
+
+    /// Returns the number of statements that had a current plan.
+    /// @return The number of hits
+    public long hits() {
+        long hits = 0;
+        for (Segment segment : segments) synchronized (segment) { hits += segment.hits; }
+        return hits;
+    }
+
+    /// Returns the number of statements that had no current plan.
+    /// @return The number of misses
+    public long misses() {
+        long misses = 0;
+        for (Segment segment : segments) synchronized (segment) { misses += segment.misses; }
+        return misses;
+    }
+
+    /// Returns the fraction of statements that had a current plan.
+    /// @return The hit rate, or `0` if no statements have been looked up
+    public double hitRate() {
+        long hits = 0;
+        long total = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                hits += segment.hits;
+                total += segment.hits + segment.misses;
+            }
+        }
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /// Returns the number of plans removed to keep the cache within its capacity.
+    /// @return The number of evictions
+    public long evictions() {
+        long evictions = 0;
+        for (Segment segment : segments) synchronized (segment) { evictions += segment.evictions; }
+        return evictions;
+    }
+
+    /// Returns the number of plans removed because they were no longer current.
+    /// @return The number of stale plans
+    public long stale() {
+        long stale = 0;
+        for (Segment segment : segments) synchronized (segment) { stale += segment.stale; }
+        return stale;
+    }
+
+    /// Returns the number of cached plans.
+    /// @return The size of the cache
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) synchronized (segment) { size += segment.plans.size(); }
+        return size;
+    }
+
+    /// Returns the maximum number of cached plans.
+    /// @return The capacity of the cache
+    public int capacity() {
+        return capacity;
+    }
+
+    /// Removes all plans.
+    public void clear() {
+        for (Segment segment : segments) segment.clear();
+    }
+
+    /// Resets the hit, miss, eviction and stale counters.
+    public void resetCounters() {
+        for (Segment segment : segments) segment.resetCounters();
+    }
+
+    public String toString() {
+        return "StatementCache(size: " + size() + ", capacity: " + capacity + ", hits: " + hits()
+                + ", misses: " + misses() + ", evictions: " + evictions() + ", stale: " + stale() + ")";
+    }
+}
@@ -0,0 +1,298 @@
+package com.epra.eprascript.parsers;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/// A [CharSequence] backed by a memory-mapped file, for parsing files that are too large to read into a [String].
+///
+/// The file is mapped rather than read, so only the pages being parsed are in memory.
+///
+/// - [Encoding#LATIN_1] files (including ASCII) are read directly: each byte is one character.
+/// - [Encoding#UTF_8] files are decoded lazily into a window of characters around the last character read.
+///   Opening a UTF-8 file scans it once to find its length and to record the byte position of every
+///   4096th character, so any character can be found by decoding at most one window.
+///   Each malformed byte is read as one `U+FFFD`.
+///
+/// Sequences are limited to [Integer#MAX_VALUE] characters. Larger files can be parsed in sections with
+/// [MappedInput#open(Path, Encoding, long, long)].
+///
+/// Latin-1 sequences are thread-safe. UTF-8 sequences are not, since reading moves the window;
+/// use [MappedInput#duplicate()] to get a sequence over the same mapping for each thread.
+/// @author Striker-909
+/// @since v0.3.0
+public final class MappedInput implements CharSequence {
+
+    /// The encoding of a mapped file.
+    public enum Encoding {
+        /// One byte per character. Also reads ASCII.
+        LATIN_1,
+        /// UTF-8, with each malformed byte read as one `U+FFFD`.
+        UTF_8
+    }
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    private static final int CHECKPOINT_SHIFT = 12;
+    private static final int WINDOW = 1 << 16;
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+    private final Encoding encoding;
+    private final int length;
+    /// For UTF-8, the byte position of every 4096th character, shifted left by one, with the lowest bit set if
+    /// the character is the second half of a surrogate pair.
+    private final long[] checkpoints;
+    private final char[] window;
+    private int windowStart;
+    private int windowEnd;
+
+    private MappedInput(MappedByteBuffer[] chunks, long size, Encoding encoding, int length, long[] checkpoints) {
+        this.chunks = chunks;
+        this.size = size;
+        this.encoding = encoding;
+        this.length = length;
+        this.checkpoints = checkpoints;
+        this.window = encoding == Encoding.UTF_8 ? new char[Math.min(WINDOW, length)] : null;
+    }
+
+    /// Maps a whole file.
+    /// @param path The file
+    /// @param encoding The encoding of the file
+    /// @return The mapped file
+    /// @throws IOException If the file cannot be mapped
+    /// @throws IllegalArgumentException If the file has more than [Integer#MAX_VALUE] characters
+    public static MappedInput open(Path path, Encoding encoding) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return map(channel, encoding, 0, channel.size());
+        }
+    }
+
+    /// Maps a section of a file.
+    ///
+    /// A UTF-8 section should start and end between characters, or the bytes on either side will be read
+    /// as `U+FFFD`.
+    /// @param path The file
+    /// @param encoding The encoding of the file
+    /// @param position The byte position of the section
+    /// @param size The number of bytes in the section
+    /// @return The mapped section
+    /// @throws IOException If the file cannot be mapped
+    /// @throws IllegalArgumentException If the section has more than [Integer#MAX_VALUE] characters
+    public static MappedInput open(Path path, Encoding encoding, long position, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return map(channel, encoding, position, Math.max(0, Math.min(size, channel.size() - position)));
+        }
+    }
+
+    private static MappedInput map(FileChannel channel, Encoding encoding, long position, long size) throws IOException {
+        if (encoding == Encoding.LATIN_1 && size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Section of " + size + " bytes is too long, map it in smaller sections");
+        }
+        // Mappings stay valid after the channel is closed
+        MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; i++) {
+            long start = (long) i << CHUNK_SHIFT;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + start, Math.min(size - start, CHUNK_MASK + 1));
+        }
+        if (encoding == Encoding.LATIN_1) {
+            return new MappedInput(chunks, size, encoding, (int) size, null);
+        }
+        return index(chunks, size);
+    }
+
+    /// Scans a UTF-8 mapping to find its length and checkpoints.
+    private static MappedInput index(MappedByteBuffer[] chunks, long size) {
+        MappedInput scanner = new MappedInput(chunks, size, Encoding.LATIN_1, 0, null);
+        long[] checkpoints = new long[16];
+        int count = 0;
+        long chars = 0;
+        long p = 0;
+        while (p < size) {
+            if ((chars & ((1 << CHECKPOINT_SHIFT) - 1)) == 0) {
+                if (count == checkpoints.length) checkpoints = Arrays.copyOf(checkpoints, count * 2);
+                checkpoints[count++] = p << 1;
+            }
+            long decoded = scanner.decode(p);
+            if (Character.isSupplementaryCodePoint((int) (decoded >>> 3))) {
+                chars++;
+                if ((chars & ((1 << CHECKPOINT_SHIFT) - 1)) == 0) {
+                    if (count == checkpoints.length) checkpoints = Arrays.copyOf(checkpoints, count * 2);
+                    checkpoints[count++] = (p << 1) | 1;
+                }
+            }
+            chars++;
+            p += decoded & 7;
+            if (chars > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Section of " + size + " bytes is too long, map it in smaller sections");
+            }
+        }
+        return new MappedInput(chunks, size, Encoding.UTF_8, (int) chars, Arrays.copyOf(checkpoints, count));
+    }
+
+    /// Returns a sequence over the same mapping, with its own decoding window.
+    /// @return The duplicate sequence
+    public MappedInput duplicate() {
+        return new MappedInput(chunks, size, encoding, length, checkpoints);
+    }
+
+    /// Returns the encoding of the mapped file.
+    /// @return The encoding
+    public Encoding encoding() {
+        return encoding;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        if (encoding == Encoding.LATIN_1) return (char) byteAt(index);
+        if (index < windowStart || index >= windowEnd) fill(index);
+        return window[index - windowStart];
+    }
+
+    /// Copies a range of the sequence into an array, like [String#getChars(int, int, char\[\], int)].
+    /// @param srcBegin The start of the range (inclusive)
+    /// @param srcEnd The end of the range (exclusive)
+    /// @param dst The array to copy into
+    /// @param dstBegin The index in the array to copy the first character to
+    public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin) {
+        Objects.checkFromToIndex(srcBegin, srcEnd, length);
+        Objects.checkFromIndexSize(dstBegin, srcEnd - srcBegin, dst.length);
+        if (encoding == Encoding.LATIN_1) {
+            for (int i = srcBegin; i < srcEnd; i++) dst[dstBegin + i - srcBegin] = (char) byteAt(i);
+            return;
+        }
+        for (int i = srcBegin; i < srcEnd; ) {
+            if (i < windowStart || i >= windowEnd) fill(i);
+            int n = Math.min(srcEnd, windowEnd) - i;
+            System.arraycopy(window, i - windowStart, dst, dstBegin + i - srcBegin, n);
+            i += n;
+        }
+    }
+
+    /// Copies a range of a [Encoding#LATIN_1] sequence into an array of bytes, one byte per character.
+    /// @param srcBegin The start of the range (inclusive)
+    /// @param srcEnd The end of the range (exclusive)
+    /// @param dst The array to copy into
+    /// @param dstBegin The index in the array to copy the first character to
+    /// @throws UnsupportedOperationException If the sequence is not Latin-1
+    public void getBytes(int srcBegin, int srcEnd, byte[] dst, int dstBegin) {
+        if (encoding != Encoding.LATIN_1) {
+            throw new UnsupportedOperationException("Only Latin-1 sequences can be copied as bytes, not " + encoding);
+        }
+        Objects.checkFromToIndex(srcBegin, srcEnd, length);
+        Objects.checkFromIndexSize(dstBegin, srcEnd - srcBegin, dst.length);
+        for (int i = 0; i < srcEnd - srcBegin; ) {
+            long p = srcBegin + (long) i;
+            int n = (int) Math.min(srcEnd - srcBegin - i, CHUNK_MASK + 1 - (p & CHUNK_MASK));
+            chunks[(int) (p >>> CHUNK_SHIFT)].get((int) (p & CHUNK_MASK), dst, dstBegin + i, n);
+            i += n;
+        }
+    }
+
+    /// Returns a view of a range of the sequence, without copying it.
+    public CharSequence subSequence(int start, int end) {
+        return new Slice(this, start, end);
+    }
+
+    /// Copies the whole sequence into a [String].
+    public String toString() {
+        return new StringBuilder(length).append(this, 0, length).toString();
+    }
+
+    private int byteAt(long p) {
+        return chunks[(int) (p >>> CHUNK_SHIFT)].get((int) (p & CHUNK_MASK)) & 0xff;
+    }
+
+    /// Decodes the UTF-8 code point at a byte position.
+    /// @return The code point shifted left by three, with its length in bytes in the lowest three bits
+    private long decode(long p) {
+        int b = byteAt(p);
+        if (b < 0x80) return ((long) b << 3) | 1;
+        int n;
+        int cp;
+        if (b >= 0xC2 && b <= 0xDF) { n = 2; cp = b & 0x1F; }
+        else if (b >= 0xE0 && b <= 0xEF) { n = 3; cp = b & 0x0F; }
+        else if (b >= 0xF0 && b <= 0xF4) { n = 4; cp = b & 0x07; }
+        else return ((long) REPLACEMENT << 3) | 1;
+        if (p + n > size) return ((long) REPLACEMENT << 3) | 1;
+        for (int j = 1; j < n; j++) {
+            int c = byteAt(p + j);
+            if ((c & 0xC0) != 0x80) return ((long) REPLACEMENT << 3) | 1;
+            cp = (cp << 6) | (c & 0x3F);
+        }
+        if (cp > Character.MAX_CODE_POINT) return ((long) REPLACEMENT << 3) | 1;
+        return ((long) cp << 3) | n;
+    }
+
+    /// Decodes the window containing a character, starting from the checkpoint before it.
+    private void fill(int index) {
+        // The window is longer than the distance between checkpoints, so it always reaches the index
+        int k = index >>> CHECKPOINT_SHIFT;
+        int start = k << CHECKPOINT_SHIFT;
+        long p = checkpoints[k] >>> 1;
+        boolean skip = (checkpoints[k] & 1) != 0;
+        int end = Math.min(length, start + window.length);
+        int c = start;
+        int w = 0;
+        while (c < end) {
+            long decoded = decode(p);
+            int cp = (int) (decoded >>> 3);
+            p += decoded & 7;
+            if (Character.isSupplementaryCodePoint(cp)) {
+                if (!skip) {
+                    window[w++] = Character.highSurrogate(cp);
+                    if (++c == end) break;
+                }
+                window[w++] = Character.lowSurrogate(cp);
+            } else {
+                window[w++] = (char) cp;
+            }
+            c++;
+            skip = false;
+        }
+        windowStart = start;
+        windowEnd = c;
+    }
+
+    /// A view of a range of a [MappedInput].
+    private record Slice(MappedInput input, int start, int end) implements CharSequence {
+        private Slice {
+            if (start < 0 || end > input.length || start > end) {
+                throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + input.length);
+            }
+        }
+
+        public int length() {
+            return end - start;
+        }
+
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + (end - start));
+            }
+            return input.charAt(start + index);
+        }
+
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > end - start || from > to) {
+                throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + (end - start));
+            }
+            return new Slice(input, start + from, start + to);
+        }
+
+        public String toString() {
+            return new StringBuilder(end - start).append(input, start, end).toString();
+        }
+    }
+}
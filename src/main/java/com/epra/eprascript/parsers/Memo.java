@@ -0,0 +1,134 @@
+package com.epra.eprascript.parsers;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// A bounded packrat memo table for parsing with [`Parsers`](Parser).
+///
+/// While [Memo#parse(Parser, CharSequence)] runs, every [Parser] invoked on the same input on the
+/// current thread (including the parsers built by [`Combinators`](com.epra.eprascript.parsers.modifiers.Combinator)
+/// and [`Maps`](com.epra.eprascript.parsers.modifiers.Map)) stores its output [Token] keyed by the parser and the
+/// parsed region. Parsing the same region with the same parser again returns the stored token instead of
+/// re-running the parser. The table is cleared after every parse.
+///
+/// Parsers that produce different outputs for the same region within one parse
+/// (for example by depending on state that they change themselves) should not be parsed with a memo.
+///
+/// Not thread-safe. Use one memo per thread.
+/// @author Striker-909
+/// @since v0.3.0
+public class Memo {
+    /// The number of memos that are currently parsing, on any thread.
+    ///
+    /// Lets [Parser#parse(CharSequence, int, int)] skip the thread-local lookup when packrat mode is not in use.
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+    /// The memo that is currently parsing on each thread.
+    private static final ThreadLocal<Memo> CURRENT = new ThreadLocal<>();
+
+    /// The key of a memo entry: a parser (by identity) and the region it parsed.
+    private record Key(Parser<?> parser, int from, int to) {}
+
+    private final int capacity;
+    private final LinkedHashMap<Key, Token<?>> table;
+    private CharSequence input;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /// A bounded packrat memo table for parsing with [`Parsers`](Parser).
+    /// @param capacity The maximum number of stored tokens. The least recently used tokens are evicted first.
+    public Memo(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Memo capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.table = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(java.util.Map.Entry<Key, Token<?>> eldest) {
+                if (size() <= Memo.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /// A packrat memo table with a capacity of `65536` tokens.
+    public Memo() {
+        this(1 << 16);
+    }
+
+    /// Parses the input with the parser, memoizing the output of every parser invoked on the input.
+    /// @param parser The parser to run
+    /// @param input The input for the parser
+    /// @return The output token for the given input
+    public <T> Token<T> parse(Parser<T> parser, CharSequence input) {
+        Memo outer = CURRENT.get();
+        // Nested parse with the same memo: share the table of the outer parse
+        if (outer == this) return parser.parse(input, 0, input.length());
+        CURRENT.set(this);
+        ACTIVE.incrementAndGet();
+        this.input = input;
+        try {
+            return parser.parse(input, 0, input.length());
+        } finally {
+            ACTIVE.decrementAndGet();
+            this.input = null;
+            table.clear();
+            if (outer == null) CURRENT.remove(); else CURRENT.set(outer);
+        }
+    }
+
+    /// Returns the memo that is parsing on the current thread, or `null` if there is none.
+    static Memo current() {
+        return ACTIVE.get() == 0 ? null : CURRENT.get();
+    }
+
+    /// Returns the memoized output of the parser for the region, running the parser function on a miss.
+    @SuppressWarnings("unchecked")
+    <T> Token<T> apply(Parser<T> parser, Parser.RegionFunction<T> function, CharSequence input, int from, int to) {
+        if (input != this.input) return function.apply(input, from, to);
+        Key key = new Key(parser, from, to);
+        Token<T> token = (Token<T>) table.get(key);
+        if (token != null) {
+            hits++;
+            return token;
+        }
+        misses++;
+        token = function.apply(input, from, to);
+        table.put(key, token);
+        return token;
+    }
+
+    /// Returns the number of parses answered from the table.
+    /// @return The number of hits
+    public long hits() {
+        return hits;
+    }
+
+    /// Returns the number of parses that had to run the parser.
+    /// @return The number of misses
+    public long misses() {
+        return misses;
+    }
+
+    /// Returns the number of tokens removed to keep the table within its capacity.
+    /// @return The number of evictions
+    public long evictions() {
+        return evictions;
+    }
+
+    /// Returns the maximum number of tokens stored at once.
+    /// @return The capacity of the table
+    public int capacity() {
+        return capacity;
+    }
+
+    /// Resets the hit, miss and eviction counters.
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    public String toString() {
+        return "(hits: " + hits + ", misses: " + misses + ", evictions: " + evictions + ")";
+    }
+}
@@ -1,35 +1,99 @@
 package com.epra.eprascript.parsers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.function.Function;
 
 /// A [Function] that parses a [String] input into an [Token] of type [T].
 /// @author Striker-909
 /// @since v0.0.0
 public class Parser<T> {
-    private final Function<String, Token<T>> parse;
+
+    /// A function that parses a region of a [CharSequence] into a [Token] of type [T]
+    /// without copying the input.
+    /// @param <T> The type of the parsed value
+    @FunctionalInterface
+    public interface RegionFunction<T> {
+        /// Parses the region `[from, to)` of the input.
+        /// @param input The character sequence to be parsed
+        /// @param from The start of the region (inclusive)
+        /// @param to The end of the region (exclusive)
+        /// @return The output token, with positions relative to its own input
+        Token<T> apply(CharSequence input, int from, int to);
+    }
+
+    private final RegionFunction<T> parse;
+    /// The profile of this parser, if it has been named with [Profiler#name(Parser, String)].
+    Profiler.Counters profile;
     /// A [Function] that parses a [String] input into an output of type [T].
+    ///
+    /// The region being parsed is copied into a [String] before the function is applied.
+    /// Prefer [Parser#Parser(RegionFunction)] for parsers that are run on large inputs.
     /// @param parse The parser function
     public Parser(Function<String, Token<T>> parse) {
+        this.parse = (input, from, to) -> parse.apply(input.subSequence(from, to).toString());
+    }
+
+    /// A [RegionFunction] that parses a region of a [CharSequence] into an output of type [T].
+    /// @param parse The parser function
+    public Parser(RegionFunction<T> parse) {
         this.parse = parse;
     }
 
-    /// Returns the output [Token] of the parser [Function] applied to the [String] input
-    /// @param input The string input for the parser
+    /// Returns the output [Token] of the parser [Function] applied to the input
+    /// @param input The input for the parser
     /// @return The output token for the given input
-    public Token<T> parse(String input) {
-        return parse.apply(input);
+    public Token<T> parse(CharSequence input) {
+        return parse(input, 0, input.length());
     }
-    /// Returns the number of times the parser is successful when parsing the [String].
-    /// @return The number or parser successes in the string
-    public int count(String input) {
+
+    /// Returns the output [Token] of the parser [Function] applied to the input in packrat mode,
+    /// memoizing the output of every parser invoked on the input in the [Memo].
+    /// @param input The input for the parser
+    /// @param memo The memo table to use for this parse
+    /// @return The output token for the given input
+    public Token<T> parse(CharSequence input, Memo memo) {
+        return memo.parse(this, input);
+    }
+
+    /// Returns the output [Token] of the parser [Function] applied to a region of the input
+    /// @param input The input for the parser
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return The output token for the given region
+    public Token<T> parse(CharSequence input, int from, int to) {
+        long start = Profiler.start(this);
+        Memo memo = Memo.current();
+        Token<T> t = memo == null ? parse.apply(input, from, to) : memo.apply(this, parse, input, from, to);
+        if (start != Profiler.OFF) Profiler.stop(this, start, t, from, to);
+        return t;
+    }
+
+    /// Returns text that every success of the parser contains, so that regions without it can be skipped
+    /// without parsing them.
+    /// @return The literal, or an empty string if nothing is known about the successes of the parser
+    public String literal() {
+        return "";
+    }
+
+    /// Returns the number of times the parser is successful when parsing the [CharSequence].
+    ///
+    /// Each parse continues on the `follow` of the previous one.
+    /// @param input The sequence to be parsed
+    /// @return The number or parser successes in the sequence
+    public int count(CharSequence input) {
+        int n = 0;
         Token<T> t = parse(input);
-        if (!t.success()) return 0;
-        return 1 + count(t.follow());
+        while (t.success()) {
+            n++;
+            t = parse(t.input(), t.end(), t.to());
+        }
+        return n;
     }
     /// Replaces the first success of the parser when parsing the input with the value of the parsed [Token].
     /// @param input The string to be parsed
     /// @return The string with the first parser success replaced with the value of the parsed token
-    public String replace(String input) {
+    public String replace(CharSequence input) {
         return replace(input, Object::toString);
     }
 
@@ -37,9 +101,9 @@ public class Parser<T> {
     /// @param input The string to be parsed
     /// @param replacement The string to replace the section that triggered the parser success with
     /// @return The string with the first parser success replaced with the replacement
-    public String replace(String input, String replacement) {
+    public String replace(CharSequence input, String replacement) {
         Token<T> t = parse(input);
-        if (!t.success()) return input;
+        if (!t.success()) return input.toString();
         return t.head() + replacement + t.follow();
     }
     /// Replaces the first success of the parser when parsing the input with the replacement
@@ -47,16 +111,16 @@ public class Parser<T> {
     /// @param input The string to be parsed
     /// @param replacement A function that returns a replacement string based on the parsed value
     /// @return The string with the first parser success replaced with the replacement
-    public String replace(String input, Function<T, String> replacement) {
+    public String replace(CharSequence input, Function<T, String> replacement) {
         Token<T> t = parse(input);
-        if (!t.success()) return input;
+        if (!t.success()) return input.toString();
         return t.head() + replacement.apply(t.value()) + t.follow();
     }
     /// Replaces all successes of the parser when parsing the input with the value of the parsed [Token].
     ///
     /// @param input The string to be parsed
     /// @return The string with the all parser successes replaced with the value of the parsed token
-    public String replaceAll(String input) {
+    public String replaceAll(CharSequence input) {
         return replaceAll(input, Object::toString);
     }
     /// Replaces all successes of the parser when parsing the input with the replacement.
@@ -64,28 +128,62 @@ public class Parser<T> {
     /// @param input The string to be parsed
     /// @param replacement The string to replace the section that triggered the parser success with
     /// @return The string with the all parser successes replaced with the replacement
-    public String replaceAll(String input, String replacement) {
-        Token<T> t = parse(input);
-        if (!t.success()) return input;
-        return t.head() + replacement + replaceAll(t.follow(), replacement);
+    public String replaceAll(CharSequence input, String replacement) {
+        return replaceAll(input, value -> replacement);
     }
     /// Replaces all successes of the parser when parsing the input with the replacement
     /// found by applying the function to the parsed value.
     ///
+    /// Parsing resumes on the `follow` of each success, and the output is built in a single [StringBuilder].
     /// @param input The string to be parsed
     /// @param replacement A function that returns a replacement string based on the parsed value
     /// @return The string with the all parser successes replaced with the replacement
-    public String replaceAll(String input, Function<T, String> replacement) {
+    public String replaceAll(CharSequence input, Function<T, String> replacement) {
         Token<T> t = parse(input);
-        if (!t.success()) return input;
-        return t.head() + replacement.apply(t.value()) + replaceAll(t.follow(), replacement);
+        if (!t.success()) return input.toString();
+        StringBuilder out = new StringBuilder(input.length());
+        while (true) {
+            out.append(t.input(), t.from(), t.start()).append(replacement.apply(t.value()));
+            CharSequence s = t.input();
+            int from = t.end();
+            int to = t.to();
+            t = parse(s, from, to);
+            if (!t.success()) return out.append(s, from, to).toString();
+        }
+    }
+    /// Replaces all successes of the parser when parsing the input with the replacement
+    /// found by applying the function to the parsed value, writing the output to an [Appendable].
+    ///
+    /// The output is not held in memory, so large inputs such as a [MappedInput] can be rewritten
+    /// straight into a [java.io.Writer].
+    /// @param input The sequence to be parsed
+    /// @param replacement A function that returns a replacement string based on the parsed value
+    /// @param out The output to write the sequence with all parser successes replaced to
+    /// @throws UncheckedIOException If writing to the output fails
+    public void replaceAll(CharSequence input, Function<T, String> replacement, Appendable out) {
+        try {
+            CharSequence s = input;
+            int from = 0;
+            int to = input.length();
+            Token<T> t = parse(s, from, to);
+            while (t.success()) {
+                out.append(t.input(), t.from(), t.start()).append(replacement.apply(t.value()));
+                s = t.input();
+                from = t.end();
+                to = t.to();
+                t = parse(s, from, to);
+            }
+            out.append(s, from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
     /// Replaces all successes of the parser when parsing the input with the value of the parsed [Token].
     ///
     /// **Warning: The replacement value should not trigger parser success to avoid the risk of infinite recursion.**
     /// @param input The string to be parsed
     /// @return The string with the all parser successes replaced with the value of the parsed token
-    public String recursiveReplaceAll(String input) {
+    public String recursiveReplaceAll(CharSequence input) {
         return recursiveReplaceAll(input, Object::toString);
     }
     /// Replaces all successes of the parser when parsing the input with the replacement.
@@ -94,10 +192,19 @@ public class Parser<T> {
     /// @param input The string to be parsed
     /// @param replacement The string to replace the section that triggered the parser success with
     /// @return The string with the all parser successes replaced with the replacement
-    public String recursiveReplaceAll(String input, String replacement) {
-        Token<T> t = parse(input);
-        if (!t.success()) return input;
-        return recursiveReplaceAll(replace(input, replacement), replacement);
+    public String recursiveReplaceAll(CharSequence input, String replacement) {
+        return recursiveReplaceAll(input, replacement, Integer.MAX_VALUE);
+    }
+
+    /// Replaces all successes of the parser when parsing the input with the replacement,
+    /// replacing at most `limit` times.
+    /// @param input The string to be parsed
+    /// @param replacement The string to replace the section that triggered the parser success with
+    /// @param limit The maximum number of replacements
+    /// @return The string with the all parser successes replaced with the replacement
+    /// @throws IllegalStateException If the parser still succeeds after `limit` replacements
+    public String recursiveReplaceAll(CharSequence input, String replacement, int limit) {
+        return recursiveReplaceAll(input, value -> replacement, limit);
     }
 
     /// Replaces all successes of the parser when parsing the input with the replacement
@@ -107,9 +214,69 @@ public class Parser<T> {
     /// @param input The string to be parsed
     /// @param replacement A function that returns a replacement string based on the parsed value
     /// @return The string with the all parser successes replaced with the replacement
-    public String recursiveReplaceAll(String input, Function<T, String> replacement) {
-        Token<T> t = parse(input);
-        if (!t.success()) return input;
-        return recursiveReplaceAll(replace(input, replacement), replacement);
+    public String recursiveReplaceAll(CharSequence input, Function<T, String> replacement) {
+        return recursiveReplaceAll(input, replacement, Integer.MAX_VALUE);
+    }
+
+    /// Replaces all successes of the parser when parsing the input with the replacement
+    /// found by applying the function to the parsed value, replacing at most `limit` times.
+    ///
+    /// The whole string is parsed again after every replacement, since a replacement can create a success
+    /// anywhere in the string. Replacements are made in place in a single [StringBuilder] that is parsed directly.
+    /// @param input The string to be parsed
+    /// @param replacement A function that returns a replacement string based on the parsed value
+    /// @param limit The maximum number of replacements
+    /// @return The string with the all parser successes replaced with the replacement
+    /// @throws IllegalStateException If the parser still succeeds after `limit` replacements
+    public String recursiveReplaceAll(CharSequence input, Function<T, String> replacement, int limit) {
+        return recursiveReplaceAll(input, replacement, limit, Integer.MAX_VALUE);
+    }
+
+    /// Replaces all successes of the parser when parsing the input with the replacement
+    /// found by applying the function to the parsed value, replacing at most `limit` times and resuming each
+    /// parse `lookbehind` characters before the last replacement instead of at the start of the string.
+    ///
+    /// This gives the same result as [#recursiveReplaceAll(CharSequence, Function, int)] for parsers whose first
+    /// success is always the leftmost one, and whose successes are at most `lookbehind` characters long and depend
+    /// only on the characters they cover, such as most [`RegExParsers`](com.epra.eprascript.parsers.alphanumeric.RegExParser).
+    /// The text before the last replacement is then not parsed again, so rewriting a long string takes linear
+    /// rather than quadratic time. Parsers that choose between successes by precedence, such as
+    /// [`Combinator.SEQUENCE`](com.epra.eprascript.parsers.modifiers.Combinator#SEQUENCE) combinations, are not
+    /// position-ordered and must rescan with [#recursiveReplaceAll(CharSequence, Function, int)].
+    /// @param input The string to be parsed
+    /// @param replacement A function that returns a replacement string based on the parsed value
+    /// @param limit The maximum number of replacements
+    /// @param lookbehind The number of characters before the last replacement to resume parsing at
+    /// @return The string with the all parser successes replaced with the replacement
+    /// @throws IllegalStateException If the parser still succeeds after `limit` replacements
+    public String recursiveReplaceAll(CharSequence input, Function<T, String> replacement, int limit, int lookbehind) {
+        CharSequence s = input;
+        StringBuilder buffer = null;
+        int from = 0;
+        for (int i = 0; ; i++) {
+            Token<T> t = parse(s, from, s.length());
+            if (!t.success()) return s.toString();
+            if (i >= limit) {
+                throw new IllegalStateException("Parser still succeeds after " + limit + " replacements");
+            }
+            String r = replacement.apply(t.value());
+            int start;
+            if (t.input() == s && t.from() == from && t.to() == s.length()) {
+                if (buffer == null) buffer = new StringBuilder(s);
+                buffer.replace(t.start(), t.end(), r);
+                start = t.start();
+            } else {
+                // The token was parsed from a copy of the region, so rewrite the region from its head and follow
+                if (buffer == null || t.input() == buffer) {
+                    buffer = new StringBuilder(from + t.headLength() + r.length() + t.followLength()).append(s, 0, from);
+                } else {
+                    buffer.setLength(from);
+                }
+                buffer.append(t.input(), t.from(), t.start()).append(r).append(t.input(), t.end(), t.to());
+                start = from + t.headLength();
+            }
+            s = buffer;
+            from = Math.max(0, start - lookbehind);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,251 @@
+package com.epra.eprascript.parsers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Opt-in profiling of named [`Parsers`](Parser).
+///
+/// Parsers are profiled by name. Give a parser a name with [Profiler#name(Parser, String)], or name every parser
+/// in a group class (such as [ArithmeticParsers](com.epra.eprascript.parsers.math.ArithmeticParsers)) with
+/// [Profiler#nameAll(Class)]. While profiling is [enabled](Profiler#enable()), every parse of a named parser
+/// records its invocation count, successes, characters scanned and time. Times include the time of the parsers
+/// it invokes.
+///
+/// Results can be read with [Profiler#snapshot()], and are emitted to Java Flight Recorder as a
+/// `com.epra.eprascript.ParserStatistics` event for each parser every second. A `com.epra.eprascript.Parse` event
+/// for every parse can be enabled in the recording settings.
+///
+/// Unnamed parsers are never profiled, and while profiling is disabled a parse only checks if its parser
+/// has a name.
+/// @author Striker-909
+/// @since v0.3.0
+public final class Profiler {
+    /// The start time returned by [Profiler#start(Parser)] when a parse is not profiled.
+    public static final long OFF = Long.MIN_VALUE;
+
+    private static volatile boolean enabled;
+    private static boolean registered;
+    private static final ConcurrentHashMap<String, Counters> COUNTERS = new ConcurrentHashMap<>();
+
+    private Profiler() {}
+
+    /// The counters of a named parser.
+    static final class Counters {
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder scanned = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private Counters(String name) {
+            this.name = name;
+        }
+
+        private Stats stats() {
+            return new Stats(name, invocations.sum(), successes.sum(), scanned.sum(), nanos.sum());
+        }
+
+        private void reset() {
+            invocations.reset();
+            successes.reset();
+            scanned.reset();
+            nanos.reset();
+        }
+    }
+
+    /// The profile of a named parser.
+    /// @param name The name of the parser
+    /// @param invocations The number of parses
+    /// @param successes The number of successful parses
+    /// @param scanned The number of characters scanned: up to the end of the match for successful parses,
+    ///                and the whole region for failed parses
+    /// @param nanos The total time of all parses in nanoseconds
+    public record Stats(String name, long invocations, long successes, long scanned, long nanos) {
+        /// Returns the fraction of parses that were successful.
+        /// @return The success rate, or `0` if the parser was not invoked
+        public double successRate() {
+            return invocations == 0 ? 0 : (double) successes / invocations;
+        }
+
+        /// Returns the average time of a parse in nanoseconds.
+        /// @return The average time, or `0` if the parser was not invoked
+        public double nanosPerInvocation() {
+            return invocations == 0 ? 0 : (double) nanos / invocations;
+        }
+    }
+
+    /// The profiles of all named parsers at one time.
+    /// @param stats The profiles, from the longest total time to the shortest
+    public record Snapshot(List<Stats> stats) {
+        /// Returns the profile of a parser.
+        /// @param name The name of the parser
+        /// @return The profile, or `null` if no parser has the name
+        public Stats get(String name) {
+            for (Stats s : stats) {
+                if (s.name().equals(name)) return s;
+            }
+            return null;
+        }
+    }
+
+    /// Enables profiling of named parsers.
+    public static synchronized void enable() {
+        if (!registered) {
+            // Registered on first use, so that parsing never loads Flight Recorder by itself
+            FlightRecorder.addPeriodicEvent(StatisticsEvent.class, () -> {
+                for (Stats stats : snapshot().stats()) {
+                    StatisticsEvent event = new StatisticsEvent();
+                    event.parser = stats.name();
+                    event.invocations = stats.invocations();
+                    event.successes = stats.successes();
+                    event.scanned = stats.scanned();
+                    event.time = stats.nanos();
+                    event.commit();
+                }
+            });
+            registered = true;
+        }
+        enabled = true;
+    }
+
+    /// Disables profiling. Recorded profiles are kept.
+    public static void disable() {
+        enabled = false;
+    }
+
+    /// Returns if profiling is enabled.
+    /// @return If profiling is enabled
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /// Names a parser for profiling. Parsers with the same name share a profile.
+    /// @param parser The parser
+    /// @param name The name
+    /// @return The parser
+    public static <P extends Parser<?>> P name(P parser, String name) {
+        parser.profile = COUNTERS.computeIfAbsent(name, Counters::new);
+        return parser;
+    }
+
+    /// Names every public static [Parser] field of a class that is not named yet, as `Class.FIELD`.
+    /// @param group The class, such as [NumberParsers](com.epra.eprascript.parsers.math.NumberParsers)
+    public static void nameAll(Class<?> group) {
+        for (Field field : group.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || !Parser.class.isAssignableFrom(field.getType())) continue;
+            try {
+                if (field.get(null) instanceof Parser<?> parser && parser.profile == null) {
+                    name(parser, group.getSimpleName() + "." + field.getName());
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /// Returns the profiles of all named parsers.
+    /// @return The snapshot
+    public static Snapshot snapshot() {
+        return new Snapshot(COUNTERS.values().stream()
+                .map(Counters::stats)
+                .sorted(Comparator.comparingLong(Stats::nanos).reversed())
+                .toList());
+    }
+
+    /// Resets the profiles of all named parsers.
+    public static void reset() {
+        COUNTERS.values().forEach(Counters::reset);
+    }
+
+    /// Starts profiling a parse.
+    /// @param parser The parser
+    /// @return The start time, or [Profiler#OFF] if the parse is not profiled
+    public static long start(Parser<?> parser) {
+        return parser.profile != null && enabled ? System.nanoTime() : OFF;
+    }
+
+    /// Records a profiled parse.
+    /// @param parser The parser
+    /// @param start The start time returned by [Profiler#start(Parser)]
+    /// @param token The output token
+    /// @param from The start of the parsed region (inclusive)
+    /// @param to The end of the parsed region (exclusive)
+    public static void stop(Parser<?> parser, long start, Token<?> token, int from, int to) {
+        stop(parser, start, token.success(), token.success() ? token.end() - token.from() : to - from);
+    }
+
+    /// Records a profiled parse.
+    /// @param parser The parser
+    /// @param start The start time returned by [Profiler#start(Parser)]
+    /// @param success If the parse was successful
+    /// @param scanned The number of characters scanned
+    public static void stop(Parser<?> parser, long start, boolean success, int scanned) {
+        long nanos = System.nanoTime() - start;
+        Counters counters = parser.profile;
+        counters.invocations.increment();
+        if (success) counters.successes.increment();
+        counters.scanned.add(scanned);
+        counters.nanos.add(nanos);
+        ParseEvent event = new ParseEvent();
+        if (event.isEnabled()) {
+            event.parser = counters.name;
+            event.success = success;
+            event.scanned = scanned;
+            event.time = nanos;
+            event.commit();
+        }
+    }
+
+    @Name("com.epra.eprascript.Parse")
+    @Label("Parse")
+    @Description("A parse of a named parser")
+    @Category("EPRAScript")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class ParseEvent extends Event {
+        @Label("Parser")
+        String parser;
+        @Label("Success")
+        boolean success;
+        @Label("Characters Scanned")
+        int scanned;
+        @Label("Parse Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long time;
+    }
+
+    @Name("com.epra.eprascript.ParserStatistics")
+    @Label("Parser Statistics")
+    @Description("The profile of a named parser since profiling started or was reset")
+    @Category("EPRAScript")
+    @Period("1 s")
+    @StackTrace(false)
+    static final class StatisticsEvent extends Event {
+        @Label("Parser")
+        String parser;
+        @Label("Invocations")
+        long invocations;
+        @Label("Successes")
+        long successes;
+        @Label("Characters Scanned")
+        long scanned;
+        @Label("Total Parse Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long time;
+    }
+}
@@ -2,16 +2,94 @@ package com.epra.eprascript.parsers;
 
 /// The output produced by a [Parser].
 ///
+/// A token does not copy the text it was parsed from. It keeps a reference to the parsed
+/// [CharSequence] and the offsets of the parsed region and the parsed section within it.
+/// `head` and `follow` are only materialized as strings when [Token#head()] or [Token#follow()] is called.
+///
 /// @author Striker-909
 /// @since v0.0.0
 /// @param value The value returned by the parser
-/// @param head The section of the string before the parsed section
-/// @param follow The section of the spring after the parsed section
+/// @param input The character sequence that was parsed
+/// @param from The start of the parsed region of the input (inclusive)
+/// @param start The start of the parsed section (inclusive)
+/// @param end The end of the parsed section (exclusive)
+/// @param to The end of the parsed region of the input (exclusive)
 /// @param success If the parse was successful
-public record Token<T> (T value, String head, String follow, boolean success){
+public record Token<T> (T value, CharSequence input, int from, int start, int end, int to, boolean success){
+
+    /// The output produced by a [Parser], built from already materialized strings.
+    /// @param value The value returned by the parser
+    /// @param head The section of the string before the parsed section
+    /// @param follow The section of the string after the parsed section
+    /// @param success If the parse was successful
+    public Token(T value, String head, String follow, boolean success) {
+        this(value, join(head, follow), 0, head.length(), head.length(), head.length() + follow.length(), success);
+    }
+
+    /// Returns an unsuccessful [Token] with a `null` value, an empty `head` and the whole region as `follow`.
+    /// @param input The character sequence that was parsed
+    /// @param from The start of the parsed region
+    /// @param to The end of the parsed region
+    /// @return A failed token for the region
+    public static <T> Token<T> failure(CharSequence input, int from, int to) {
+        return new Token<>(null, input, from, from, from, to, false);
+    }
+
+    /// Returns a [Token] whose `head` is the `head` of the first token and whose `follow` is the
+    /// `follow` of the last token.
+    ///
+    /// Used when a parser continues parsing on the `follow` of an earlier token.
+    /// @param value The value of the new token
+    /// @param first The token the parsed section starts in
+    /// @param last The token the parsed section ends in
+    /// @param success If the parse was successful
+    /// @return A token spanning both tokens
+    public static <T> Token<T> span(T value, Token<?> first, Token<?> last, boolean success) {
+        if (first.input == last.input) {
+            return new Token<>(value, first.input, first.from, first.start, last.end, last.to, success);
+        }
+        return new Token<>(value, first.head(), last.follow(), success);
+    }
+
+    /// Returns a copy of this [Token] with a different value and the same positions.
+    /// @param value The new value
+    /// @return A token with the new value
+    public <U> Token<U> withValue(U value) {
+        return new Token<>(value, input, from, start, end, to, success);
+    }
+
+    /// Returns the section of the input before the parsed section.
+    /// @return The head of the token
+    public String head() {
+        return input.subSequence(from, start).toString();
+    }
+
+    /// Returns the section of the input after the parsed section.
+    /// @return The follow of the token
+    public String follow() {
+        return input.subSequence(end, to).toString();
+    }
+
+    /// Returns the length of the `head` without materializing it.
+    /// @return The length of the head
+    public int headLength() {
+        return start - from;
+    }
+
+    /// Returns the length of the `follow` without materializing it.
+    /// @return The length of the follow
+    public int followLength() {
+        return to - end;
+    }
+
+    private static String join(String head, String follow) {
+        if (head.isEmpty()) return follow;
+        if (follow.isEmpty()) return head;
+        return head + follow;
+    }
 
     public String toString(){
         if (!success){ return "(success: false)"; }
-        return "(value: " + value.toString() + ", head: " + head + ", follow: " + follow + ", success: true)";
+        return "(value: " + value.toString() + ", head: " + head() + ", follow: " + follow() + ", success: true)";
     }
 }
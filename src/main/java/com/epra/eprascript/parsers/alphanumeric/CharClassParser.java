@@ -0,0 +1,78 @@
+package com.epra.eprascript.parsers.alphanumeric;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Token;
+
+/// A [Parser] subclass that parses for any [Character] in a set of characters.
+///
+/// The parser function will find the first instance of any of the characters
+/// or fail if none of the characters are found. The input is searched once with a [CharScanner].
+///
+/// Equivalent to combining a [CharParser] for each character with
+/// [`Combinator.OR`](com.epra.eprascript.parsers.modifiers.Combinator#OR), which fuses such chains into a
+/// [CharClassParser] automatically.
+///
+/// @author Striker-909
+/// @since v0.3.0
+public class CharClassParser extends Parser<Character> {
+
+    private final CharScanner scanner;
+
+    /// A [Parser] subclass that parses for any [Character] in a set of characters.
+    ///
+    /// The parser function will find the first instance of any of the characters
+    /// or fail if none of the characters are found.
+    /// @param chars The characters to parse for
+    public CharClassParser(char... chars) {
+        this(new CharScanner(chars));
+    }
+
+    /// A [Parser] subclass that parses for any [Character] in a string.
+    /// @param chars A string of the characters to parse for
+    public CharClassParser(String chars) {
+        this(chars.toCharArray());
+    }
+
+    private CharClassParser(CharScanner scanner) {
+        super((s, from, to) -> {
+            int i = scanner.indexIn(s, from, to);
+            if (i == -1) return Token.failure(s, from, to);
+            return new Token<>(s.charAt(i), s, from, i, i + 1, to, true);
+        });
+        this.scanner = scanner;
+    }
+
+    /// Returns if a [Character] is in the set of characters this parser parses for.
+    /// @param c A character
+    /// @return If the character is in the set
+    public boolean contains(char c) {
+        return scanner.contains(c);
+    }
+
+    /// Returns the set of characters this parser parses for, in ascending order.
+    /// @return The characters of the set
+    public char[] chars() {
+        return scanner.chars();
+    }
+
+    /// Returns a [CharClassParser] that parses for the characters of both parsers, if both parsers are
+    /// a [CharParser] or a [CharClassParser].
+    /// @param p1 First parser
+    /// @param p2 Second parser
+    /// @return The fused parser, or `null` if either parser does not parse for single characters
+    public static CharClassParser union(Parser<?> p1, Parser<?> p2) {
+        char[] c1 = charsOf(p1);
+        char[] c2 = charsOf(p2);
+        if (c1 == null || c2 == null) return null;
+        char[] both = new char[c1.length + c2.length];
+        System.arraycopy(c1, 0, both, 0, c1.length);
+        System.arraycopy(c2, 0, both, c1.length, c2.length);
+        return new CharClassParser(both);
+    }
+
+    private static char[] charsOf(Parser<?> parser) {
+        if (parser instanceof CharClassParser p) return p.scanner.chars();
+        if (parser instanceof CharParser p) return new char[] {p.character()};
+        return null;
+    }
+}
@@ -6,21 +6,41 @@ import com.epra.eprascript.parsers.Token;
 /// A [Parser] subclass that parses for a specific [Character].
 ///
 /// The parser function will find the first instance of the character
-/// or fail if that character is not found.
+/// or fail if that character is not found. The input is searched with a [CharScanner].
 ///
 /// @author Striker-909
 /// @since v0.0.0
 public class CharParser extends Parser<Character>{
 
+    private final char c;
+
     /// A [Parser] subclass that parses for a specific [Character].
     ///
     /// The parser function will find the first instance of the character
     /// or fail if that character is not found.
     /// @param c The character to parse for
     public CharParser(char c) {
-        super(s -> {
-            int i = s.indexOf(c);
-            return new Token<>(c, (i >= 0) ? s.substring(0, i) : "", (i < s.length() - 1) ? s.substring(i + 1) : "", i != -1);
+        this(c, new CharScanner(c));
+    }
+
+    private CharParser(char c, CharScanner scanner) {
+        super((s, from, to) -> {
+            int i = scanner.indexIn(s, from, to);
+            if (i == -1) return new Token<>(c, s, from, from, from, to, false);
+            return new Token<>(c, s, from, i, i + 1, to, true);
         });
+        this.c = c;
+    }
+
+    /// Returns the [Character] this parser parses for.
+    /// @return The character
+    public char character() {
+        return c;
+    }
+
+    /// Returns the [Character] this parser parses for, which is all that any of its successes contain.
+    /// @return The character, as a string
+    public String literal() {
+        return String.valueOf(c);
     }
 }
@@ -0,0 +1,165 @@
+package com.epra.eprascript.parsers.alphanumeric;
+
+import com.epra.eprascript.parsers.MappedInput;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/// Finds the first instance of any [Character] in a set, such as the operators of an expression.
+///
+/// The search compares many characters at a time with the Vector API when the `jdk.incubator.vector` module is
+/// available, such as when the JVM is started with `--add-modules jdk.incubator.vector`, and one character at a time
+/// otherwise. Both find the same indices. [CharScanner#backend()] returns which one is used.
+///
+/// Arrays are searched directly. With vectors, [`Strings`](String), [`StringBuilders`](StringBuilder) and
+/// [`MappedInputs`](MappedInput) are copied into a buffer of each thread in growing chunks, so a match near the
+/// start of a long region only copies the characters before it, and searching does not allocate. Latin-1
+/// [`MappedInputs`](MappedInput) are copied as bytes and searched like [CharScanner#indexIn(byte\[\], int, int)].
+/// Other sequences, and regions too short for copying to pay off, are searched one character at a time.
+///
+/// Thread-safe.
+/// @author Striker-909
+/// @since v0.3.0
+public final class CharScanner {
+    private static final ScanBackend BACKEND = ScanBackend.load();
+    /// The length of the shortest region that is copied into an array to be searched, and of the first chunk.
+    private static final int MIN_CHUNK = 64;
+    private static final int MAX_CHUNK = 4096;
+    /// The buffer that sequences are copied into, shared by every scanner on a thread.
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_CHUNK]);
+    /// The buffer that Latin-1 [`MappedInputs`](MappedInput) are copied into, shared by every scanner on a thread.
+    private static final ThreadLocal<byte[]> BYTE_BUFFER = ThreadLocal.withInitial(() -> new byte[MAX_CHUNK]);
+
+    private final char[] chars;
+    private final long[] bits;
+    /// The characters of the set that are in Latin-1, which are the only ones a `byte[]` can contain.
+    private final char[] latin1;
+
+    /// Finds the first instance of any [Character] in a set.
+    /// @param chars The characters to search for
+    public CharScanner(char... chars) {
+        this.bits = toBits(chars);
+        this.chars = toChars(bits);
+        int n = 0;
+        while (n < this.chars.length && this.chars[n] <= 0xff) n++;
+        this.latin1 = Arrays.copyOf(this.chars, n);
+    }
+
+    /// Returns the name of the backend that searches arrays.
+    /// @return `"vector"` if the Vector API is used, or `"scalar"` if it is not
+    public static String backend() {
+        return BACKEND.name();
+    }
+
+    /// Returns the index of the first character in the set within a region of a [CharSequence].
+    /// @param s The sequence to search
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return The index of the character, or `-1` if there is none in the region
+    public int indexIn(CharSequence s, int from, int to) {
+        // String.indexOf is already an intrinsic that compares many characters at a time
+        if (chars.length == 1 && s instanceof String str) return str.indexOf(chars[0], from, to);
+        if (!BACKEND.vectorized() || to - from < MIN_CHUNK
+                || !(s instanceof String || s instanceof StringBuilder || s instanceof MappedInput)) {
+            for (int i = from; i < to; i++) {
+                if (ScanBackend.contains(bits, s.charAt(i))) return i;
+            }
+            return -1;
+        }
+        if (s instanceof MappedInput input && input.encoding() == MappedInput.Encoding.LATIN_1) {
+            return indexInBytes(input, from, to);
+        }
+        char[] buffer = BUFFER.get();
+        int chunk = MIN_CHUNK;
+        for (int start = from; start < to; ) {
+            int end = Math.min(to, start + chunk);
+            getChars(s, start, end, buffer);
+            int i = BACKEND.indexOf(buffer, 0, end - start, chars, bits);
+            if (i != -1) return start + i;
+            start = end;
+            chunk = Math.min(MAX_CHUNK, chunk * 4);
+        }
+        return -1;
+    }
+
+    /// Searches a Latin-1 [MappedInput] in growing chunks of bytes.
+    private int indexInBytes(MappedInput input, int from, int to) {
+        byte[] buffer = BYTE_BUFFER.get();
+        int chunk = MIN_CHUNK;
+        for (int start = from; start < to; ) {
+            int end = Math.min(to, start + chunk);
+            input.getBytes(start, end, buffer, 0);
+            int i = BACKEND.indexOf(buffer, 0, end - start, latin1, bits);
+            if (i != -1) return start + i;
+            start = end;
+            chunk = Math.min(MAX_CHUNK, chunk * 4);
+        }
+        return -1;
+    }
+
+    private static void getChars(CharSequence s, int from, int to, char[] dst) {
+        switch (s) {
+            case String str -> str.getChars(from, to, dst, 0);
+            case StringBuilder sb -> sb.getChars(from, to, dst, 0);
+            case MappedInput input -> input.getChars(from, to, dst, 0);
+            default -> {
+                for (int i = from; i < to; i++) dst[i - from] = s.charAt(i);
+            }
+        }
+    }
+
+    /// Returns the index of the first character in the set within a range of an array.
+    /// @param a The array to search
+    /// @param from The start of the range (inclusive)
+    /// @param to The end of the range (exclusive)
+    /// @return The index of the character, or `-1` if there is none in the range
+    public int indexIn(char[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return BACKEND.indexOf(a, from, to, chars, bits);
+    }
+
+    /// Returns the index of the first character in the set within a range of an array of Latin-1 characters,
+    /// such as an ASCII file.
+    /// @param a The array to search, one character per byte
+    /// @param from The start of the range (inclusive)
+    /// @param to The end of the range (exclusive)
+    /// @return The index of the character, or `-1` if there is none in the range
+    public int indexIn(byte[] a, int from, int to) {
+        Objects.checkFromToIndex(from, to, a.length);
+        return BACKEND.indexOf(a, from, to, latin1, bits);
+    }
+
+    /// Returns if a [Character] is in the set.
+    /// @param c A character
+    /// @return If the character is in the set
+    public boolean contains(char c) {
+        return ScanBackend.contains(bits, c);
+    }
+
+    /// Returns the characters of the set, in ascending order.
+    /// @return The characters
+    public char[] chars() {
+        return chars.clone();
+    }
+
+    private static long[] toBits(char[] chars) {
+        int max = 0;
+        for (char c : chars) max = Math.max(max, c);
+        long[] bits = new long[(max >>> 6) + 1];
+        for (char c : chars) bits[c >>> 6] |= 1L << c;
+        return bits;
+    }
+
+    private static char[] toChars(long[] bits) {
+        int n = 0;
+        for (long word : bits) n += Long.bitCount(word);
+        char[] chars = new char[n];
+        int i = 0;
+        for (int word = 0; word < bits.length; word++) {
+            for (long w = bits[word]; w != 0; w &= w - 1) {
+                chars[i++] = (char) ((word << 6) + Long.numberOfTrailingZeros(w));
+            }
+        }
+        return chars;
+    }
+}
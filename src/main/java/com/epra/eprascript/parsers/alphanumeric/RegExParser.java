@@ -5,11 +5,17 @@ import com.epra.eprascript.parsers.Token;
 import com.epra.eprascript.parsers.modifiers.Combinator;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /// A [Parser] subclass that parses for a match to a `RegEx` pattern.
 ///
 /// Mostly for convenience. Should be avoided where other parser-based solutions are available.
 ///
+/// The pattern is compiled once when the parser is constructed and matched against the parsed
+/// region directly, without copying it.
+///
 /// @author Striker-909
 /// @since v0.1.0
 public class RegExParser extends Parser<String>{
@@ -32,19 +38,50 @@ public class RegExParser extends Parser<String>{
             new CharParser('}')
     );
 
-    private final java.util.regex.Pattern pattern;
+    private final Pattern pattern;
+    /// The names of all named groups in the pattern and their group indices.
+    private final Map<String, Integer> namedGroups;
     /// A [Parser] subclass that parses for a match to a `RegEx` pattern.
     ///
     /// Mostly for convenience. Should be avoided where other parser-based solutions are available.
     /// @param regex The RegEx pattern to parse for
     public RegExParser(String regex) {
-        super(s -> {
-            java.util.regex.Matcher m = java.util.regex.Pattern.compile(regex).matcher(s);
-            String match = m.find() ? m.group() : "";
-            if (match.isEmpty()) return new Token<>(null, "", s, false);
-            return new Token<>(match, s.substring(0, m.start()), s.substring(m.end()), true);
+        this(Pattern.compile(regex));
+    }
+
+    /// A [Parser] subclass that parses for a match to a compiled `RegEx` pattern.
+    /// @param pattern The compiled RegEx pattern to parse for
+    public RegExParser(Pattern pattern) {
+        super((s, from, to) -> {
+            Matcher m = pattern.matcher(s).region(from, to);
+            if (!m.find() || m.start() == m.end()) return Token.failure(s, from, to);
+            return new Token<>(m.group(), s, from, m.start(), m.end(), to, true);
         });
-        pattern = java.util.regex.Pattern.compile(regex);
+        this.pattern = pattern;
+        this.namedGroups = pattern.namedGroups();
+    }
+
+    /// Returns the compiled pattern this parser matches.
+    /// @return The compiled pattern
+    public Pattern pattern() {
+        return pattern;
+    }
+
+    /// Parses a region of the input for the first match of the pattern and returns a [HashMap] [Token]
+    /// of all named groups of that match.
+    ///
+    /// The match and its groups are found in a single pass. The token has the positions of the match,
+    /// and will be successful under the same conditions as [Parser#parse(CharSequence, int, int)].
+    /// @param input The sequence to be parsed
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return A token of a hash map from the names of named groups to the parsed strings of those groups
+    public Token<HashMap<String, String>> parseNamedGroups(CharSequence input, int from, int to) {
+        Matcher m = pattern.matcher(input).region(from, to);
+        if (!m.find() || m.start() == m.end()) return Token.failure(input, from, to);
+        HashMap<String, String> groups = new HashMap<>();
+        namedGroups.forEach((k, v) -> groups.put(k, m.group(v)));
+        return new Token<>(groups, input, from, m.start(), m.end(), to, true);
     }
 
     /// Returns a [HashMap] [Token] of all named groups according to the RegEx pattern.
@@ -54,11 +91,10 @@ public class RegExParser extends Parser<String>{
     /// @param input The string to be parsed
     /// @return A token of a hash map from the names of named groups to the parsed strings of those groups
     public Token<HashMap<String, String>> getNamedGroups(String input) {
-        java.util.regex.Matcher m = pattern.matcher(input);
+        Matcher m = pattern.matcher(input);
         if (!m.find()) return new Token<>(null, "", input, false);
-        HashMap<String, Integer> groupIndices = new HashMap<>(m.namedGroups());
         HashMap<String, String> groups = new HashMap<>();
-        groupIndices.forEach((k, v) -> groups.put(k, m.group(v)));
+        namedGroups.forEach((k, v) -> groups.put(k, m.group(v)));
         return new Token<>(groups, "", input, !groups.isEmpty());
     }
 }
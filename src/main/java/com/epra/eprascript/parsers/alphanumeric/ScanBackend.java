@@ -0,0 +1,89 @@
+package com.epra.eprascript.parsers.alphanumeric;
+
+/// Searches arrays of characters for the first character in a set, one character at a time.
+///
+/// `VectorScanBackend`, in the `vector` source set, overrides it to compare many characters at a time, and is used
+/// instead when the `jdk.incubator.vector` module is available.
+/// @author Striker-909
+/// @since v0.3.0
+class ScanBackend {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_BACKEND = "com.epra.eprascript.parsers.alphanumeric.VectorScanBackend";
+
+    /// Returns the `VectorScanBackend` if the vector module is in the boot layer, or a scalar backend if it is not.
+    /// @return The backend
+    static ScanBackend load() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) return new ScanBackend();
+        // Only loaded by name, so the vector classes are never linked without the module
+        try {
+            return (ScanBackend) Class.forName(VECTOR_BACKEND).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScanBackend();
+        }
+    }
+
+    /// Returns the name of this backend.
+    /// @return `"scalar"`
+    String name() {
+        return "scalar";
+    }
+
+    /// Returns if this backend compares many characters at a time, so copying a sequence into an array
+    /// to search it pays off.
+    /// @return `false`
+    boolean vectorized() {
+        return false;
+    }
+
+    /// Returns the index of the first character in a set within a range of an array.
+    /// @param a The array to search
+    /// @param from The start of the range (inclusive)
+    /// @param to The end of the range (exclusive)
+    /// @param chars The characters of the set, in ascending order
+    /// @param bits The bitset of the characters
+    /// @return The index of the first character in the set, or `-1` if there is none in the range
+    int indexOf(char[] a, int from, int to, char[] chars, long[] bits) {
+        if (chars.length == 1) {
+            char c = chars[0];
+            for (int i = from; i < to; i++) {
+                if (a[i] == c) return i;
+            }
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            if (contains(bits, a[i])) return i;
+        }
+        return -1;
+    }
+
+    /// Returns the index of the first character in a set within a range of an array of Latin-1 characters.
+    /// @param a The array to search, one character per byte
+    /// @param from The start of the range (inclusive)
+    /// @param to The end of the range (exclusive)
+    /// @param chars The Latin-1 characters of the set, in ascending order
+    /// @param bits The bitset of the characters
+    /// @return The index of the first character in the set, or `-1` if there is none in the range
+    int indexOf(byte[] a, int from, int to, char[] chars, long[] bits) {
+        if (chars.length == 0) return -1;
+        if (chars.length == 1) {
+            byte c = (byte) chars[0];
+            for (int i = from; i < to; i++) {
+                if (a[i] == c) return i;
+            }
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            if (contains(bits, (char) (a[i] & 0xff))) return i;
+        }
+        return -1;
+    }
+
+    /// Returns if a [Character] is in a bitset.
+    /// @param bits The bitset
+    /// @param c A character
+    /// @return If the character is in the bitset
+    static boolean contains(long[] bits, char c) {
+        int word = c >>> 6;
+        return word < bits.length && (bits[word] & (1L << c)) != 0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.epra.eprascript.parsers.function;
+
+import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.math.NumberParsers;
+import com.epra.eprascript.parsers.math.NumberScanner;
+import com.epra.eprascript.parsers.primitive.DoubleValue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/// The values bound to the variables of a [FunctionParser] signature.
+///
+/// A variable bound to the address of a [Supplier] is bound to the value of that supplier as it is, so values of
+/// nested functions reach the outer function without being formatted and parsed again. A [DoubleValue] is kept as it
+/// is, so [Arguments#getDouble(String)] reads it without boxing. Any other variable is bound to the text it matched.
+///
+/// Functions that take a [HashMap] of variable name-value pairs see the text of every value, as given by
+/// [Arguments#toMap()].
+/// @author Striker-909
+/// @since v0.3.0
+public final class Arguments {
+    /// Arguments with no variables.
+    static final Arguments NONE = new Arguments(new String[0], new Object[0]);
+
+    private final String[] names;
+    private final Object[] values;
+
+    /// The values bound to the variables of a signature.
+    /// @param names The names of the variables
+    /// @param values The value bound to each variable
+    Arguments(String[] names, Object[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    /// Binds the values of a signature match, fetching the value of every address among them
+    /// in the current [EvaluationContext].
+    /// @param groups The named groups of the signature match
+    /// @return The bound values
+    static Arguments bind(HashMap<String, String> groups) {
+        String[] names = new String[groups.size()];
+        Object[] values = new Object[groups.size()];
+        int i = 0;
+        for (var entry : groups.entrySet()) {
+            names[i] = entry.getKey();
+            values[i] = fetch(entry.getValue());
+            i++;
+        }
+        return new Arguments(names, values);
+    }
+
+    /// Fetches the value of the supplier at the address in a value.
+    /// @param value The text of a value
+    /// @return The value of the supplier, or the text if it has no address
+    private static Object fetch(String value) {
+        if (value == null) { return null; }
+        Token<Supplier<?>> supplierToken = FunctionParser.FUNCTION_FETCHER.parse(value);
+        return supplierToken.success() ? supply(supplierToken.value()) : value;
+    }
+
+    /// Returns the value of a supplier to bind to a variable, or the supplier itself if it is a [DoubleValue].
+    /// @param supplier The supplier, which may be registered
+    /// @return The value to bind
+    static Object supply(Supplier<?> supplier) {
+        Supplier<?> unwrapped = supplier instanceof SupplierRegistry.Registered<?> registered ? registered.supplier() : supplier;
+        return unwrapped instanceof DoubleValue ? unwrapped : unwrapped.get();
+    }
+
+    private int index(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /// Returns the value bound to a variable.
+    /// @param name The name of the variable
+    /// @return The value of a nested function, the text of any other value, or `null` if the variable is not bound
+    public Object get(String name) {
+        int i = index(name);
+        return i == -1 ? null : value(i);
+    }
+
+    private Object value(int i) {
+        return values[i] instanceof DoubleValue d ? d.get() : values[i];
+    }
+
+    /// Returns the text of the value bound to a variable.
+    /// @param name The name of the variable
+    /// @return The text of the value, or `null` if the variable is not bound
+    public String text(String name) {
+        Object value = get(name);
+        return value == null ? null : value.toString();
+    }
+
+    /// Returns the value bound to a variable as a `double`.
+    ///
+    /// [`Numbers`](Number) are converted directly, and the text of any other value is scanned for its first number
+    /// with a [NumberScanner], like [NumberParsers#DOUBLE_PARSER].
+    /// @param name The name of the variable
+    /// @return The value of the variable, or `-1` if its text has no number, as with
+    /// [NumberParsers#DOUBLE_PARSER]
+    public double getDouble(String name) {
+        int i = index(name);
+        Object value = i == -1 ? null : values[i];
+        if (value instanceof DoubleValue d) { return d.value(); }
+        if (value instanceof Number number) { return number.doubleValue(); }
+        // Scans directly, so evaluating does not initialize every parser in NumberParsers
+        String text = String.valueOf(value);
+        NumberScanner scanner = new NumberScanner(true, false);
+        return scanner.scan(text, 0, text.length()) ? scanner.doubleValue() : -1.0;
+    }
+
+    /// Returns if a variable is bound.
+    /// @param name The name of the variable
+    /// @return If the variable is bound
+    public boolean contains(String name) {
+        return Arrays.asList(names).contains(name);
+    }
+
+    /// Returns the names of the bound variables.
+    /// @return The names
+    public List<String> names() {
+        return List.of(names);
+    }
+
+    /// Returns the text of every bound value, as passed to functions that take a [HashMap].
+    /// @return A new hash map of variable name-value pairs
+    public HashMap<String, String> toMap() {
+        HashMap<String, String> map = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            Object value = value(i);
+            map.put(names[i], value == null ? null : value.toString());
+        }
+        return map;
+    }
+
+    public String toString() {
+        return toMap().toString();
+    }
+}
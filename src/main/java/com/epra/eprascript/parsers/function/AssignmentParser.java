@@ -3,43 +3,134 @@ package com.epra.eprascript.parsers.function;
 import com.epra.eprascript.parsers.Parser;
 import com.epra.eprascript.parsers.Token;
 
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 /// A [FunctionParser] for assigning values to variables that can then be used later.
 ///
+/// Variables are assigned in the current [EvaluationContext]. An assigned value may read other variables, and is
+/// recomputed whenever one of them is reassigned (see [DependencyGraph]).
+///
 /// **Currently highly unstable.**
 /// @author Striker-909
 /// @since v0.2.1
 public class AssignmentParser<T> extends FunctionParser<FunctionParser<T>>{
-    /// A [TreeMap] from all variable names (strings) to the corresponding [FunctionParser] for parsing that
-    /// variable.
+    /// A [Parser] that fetches the first assigned variable of the current [EvaluationContext].
     ///
-    /// Ordered by variable name length, from longest to shortest.
-    private static final TreeMap<String, FunctionParser> ASSIGNMENTS = new TreeMap<>(Comparator.reverseOrder());
-    /// A [Parser] that fetches assigned variables by running through all parsers in [AssignmentParser#ASSIGNMENTS].
+    /// Scans the input once, looking up the longest variable name at each position in a trie of all variable
+    /// names. Addresses are skipped, so their handles are never read as variable names.
     ///
-    /// The parse method will return the output of the successful parser if there is a successful parser
+    /// The parse method will return the output of the parser of the variable found if there is one
     /// and fails otherwise.
-    @SuppressWarnings("unchecked")
-    public static final Parser<?> ASSIGNMENT_FETCHER = new Parser<>(
-            s -> {
-                String sNew = FunctionParser.FUNCTION_FETCHER.recursiveReplaceAll(s, "");
-                for (Map.Entry<String, FunctionParser> entry : ASSIGNMENTS.entrySet()) {
-                    Token<Supplier<?>> token = entry.getValue().parse(sNew);
+    public static final Parser<?> ASSIGNMENT_FETCHER = new Parser<Supplier<?>>(
+            (s, from, to) -> {
+                VariableIndex index = EvaluationContext.current().index();
+                for (int i = from; i < to; i++) {
+                    int addressEnd = FunctionParser.addressEnd(s, i, to);
+                    if (addressEnd != -1) {
+                        i = addressEnd - 1;
+                        continue;
+                    }
+                    VariableIndex.Match match = index.longest(s, i, to);
+                    if (match == null) { continue; }
+                    Token<? extends Supplier<?>> token = match.parser().parse(s, i, i + match.length());
                     if (token.success()) {
-                        return new Token<>(token.value(), token.head(), token.follow(), true);
+                        return new Token<>(token.value(), s, from, i, i + match.length(), to, true);
                     }
                 }
-                return new Token<>(null, "", sNew, false);
+                return Token.failure(s, from, to);
             }
     );
+    /// Returns the value currently assigned to a variable in the current [EvaluationContext].
+    /// @param name The name of the variable
+    /// @return The value of the variable, or `null` if it has not been assigned
+    public static Object value(String name) {
+        FunctionParser<?> parser = EvaluationContext.current().assignment(name);
+        if (parser == null) { return null; }
+        SupplierRegistry.Scope scope = FunctionParser.openScope();
+        try {
+            Token<? extends Supplier<?>> token = parser.parse(name);
+            return token.success() ? token.value().get() : null;
+        } finally {
+            scope.close();
+        }
+    }
+
+    /// Returns the value currently assigned to a variable in the current [EvaluationContext] as a `double`.
+    ///
+    /// Can be used to evaluate a [CompiledExpression](com.epra.eprascript.parsers.math.CompiledExpression)
+    /// or an [Expression](com.epra.eprascript.parsers.math.Expression) against the assigned variables:
+    /// `compiled.eval(AssignmentParser::doubleValue)`.
+    /// @param name The name of the variable
+    /// @return The value of the variable
+    /// @throws IllegalArgumentException If the variable has not been assigned a number
+    public static double doubleValue(String name) {
+        if (!(value(name) instanceof Number number)) {
+            throw new IllegalArgumentException("Variable " + name + " has not been assigned a number");
+        }
+        return number.doubleValue();
+    }
+
+    /// The function of the [FunctionParser] of an assigned variable, which knows the name of the variable.
+    ///
+    /// Holds the current value of the variable, so reassigning the variable does not need a new parser.
+    static final class Variable<T> implements Function<Arguments, Supplier<T>> {
+        private final String name;
+        private volatile T value;
+
+        /// The function of the [FunctionParser] of an assigned variable.
+        /// @param name The name of the variable
+        /// @param value The value of the variable
+        Variable(String name, T value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        /// Returns the name of the variable.
+        /// @return The name
+        String name() {
+            return name;
+        }
+
+        public Supplier<T> apply(Arguments arguments) {
+            T value = this.value;
+            return () -> value;
+        }
+    }
+
+    /// Assigns a value to a variable in the current [EvaluationContext].
+    ///
+    /// A variable that is already assigned keeps its parser, and only its value is replaced. Reads of variables
+    /// are [shared](FunctionParser#shared()), so suppliers shared in the current context are forgotten, as they
+    /// may have read the previous value.
+    /// @param name The name of the variable
+    /// @param value The value
+    /// @return The parser for the variable
+    @SuppressWarnings("unchecked")
+    static <T> FunctionParser<T> define(String name, T value) {
+        EvaluationContext context = EvaluationContext.current();
+        context.addresses().unshareAll();
+        FunctionParser<?> existing = context.assignment(name);
+        Function<?, ?> function = existing == null ? null : existing.function();
+        if (function instanceof Variable<?> variable) {
+            ((Variable<T>) variable).value = value;
+            return (FunctionParser<T>) existing;
+        }
+        FunctionParser<T> parser = FunctionParser.typed(
+                name,
+                "[a-zA-Z_][a-zA-Z_\\d]*",
+                new Variable<>(name, value)
+        ).shared();
+        context.assign(name, parser);
+        return parser;
+    }
+
     /// A [FunctionParser] for assigning values to variables that can then be used later.
     /// @param valueRegex A RegEx expression that specifies what values are
     /// permitted as a value of a variable assignment
-    /// @param valueParser A parser to parse the value of a variable assignment
+    /// @param valueParser A parser to parse the value of a variable assignment. Variables that depend on others are
+    ///                    recomputed from the supplier it fetched last with [FunctionParser#FUNCTION_FETCHER], so it
+    ///                    must return the value of that supplier
     public AssignmentParser(String valueRegex, Parser<T> valueParser) {
         super(
                 "$name$=$value$",
@@ -47,20 +138,10 @@ public class AssignmentParser<T> extends FunctionParser<FunctionParser<T>>{
                     put("name", "[a-zA-Z_][a-zA-Z_\\d]*");
                     put("value", valueRegex);
                 }},
-                new Parser<>(s -> {
-                    Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                    if (!token.success()) { return token; }
-                    return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-                }),
+                FunctionParser.STANDARD_VARIABLE_NAME,
                 (vals) -> {
-                    var value = valueParser.parse(vals.get("value")).value();
-                    Supplier<T> supplier = () -> value;
-                    FunctionParser<T> fpOut = new FunctionParser<>(
-                            vals.get("name"),
-                            "[a-zA-Z_][a-zA-Z_\\d]*",
-                            (map) -> supplier
-                    );
-                    ASSIGNMENTS.put(vals.get("name"), fpOut);
+                    FunctionParser<T> fpOut = EvaluationContext.current().dependencies()
+                            .assign(vals.get("name"), vals.get("value"), valueParser);
                     return () -> fpOut;
                 }
         );
@@ -0,0 +1,29 @@
+package com.epra.eprascript.parsers.function;
+
+import java.io.Serial;
+import java.util.List;
+
+/// Thrown when assigning a variable would make it depend on itself through other variables.
+///
+/// The assignment is not made, and every variable keeps its previous value.
+/// @author Striker-909
+/// @since v0.3.0
+public class CircularDependencyException extends IllegalArgumentException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String[] cycle;
+
+    /// Thrown when assigning a variable would make it depend on itself.
+    /// @param cycle The names of the variables in the cycle, starting and ending with the assigned variable
+    public CircularDependencyException(List<String> cycle) {
+        super("Circular dependency: " + String.join(" -> ", cycle));
+        this.cycle = cycle.toArray(new String[0]);
+    }
+
+    /// Returns the variables in the cycle.
+    /// @return The names of the variables, starting and ending with the assigned variable
+    public List<String> cycle() {
+        return List.of(cycle);
+    }
+}
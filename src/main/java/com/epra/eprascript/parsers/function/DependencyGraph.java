@@ -0,0 +1,231 @@
+package com.epra.eprascript.parsers.function;
+
+import com.epra.eprascript.parsers.Parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/// The dependencies between the variables assigned with [AssignmentParser] in an [EvaluationContext].
+///
+/// The value of an assignment is a formula that may read other variables, such as `y=x*2`. The variables it reads
+/// are recorded while it is evaluated, and when one of them is reassigned, every variable that depends on it,
+/// directly or indirectly, is recomputed in topological order. Variables that do not depend on it are not touched.
+///
+/// Formulas are recomputed by executing the [StatementPlan] recorded when they were last evaluated, without
+/// parsing. The plan produces the supplier that the value parser fetched last with
+/// [FunctionParser#FUNCTION_FETCHER], so the value parser must return the value of that supplier. Once a new
+/// variable name that occurs in a formula has been assigned, the formula is parsed again, since it may now read
+/// different variables.
+///
+/// A formula that reads the variable it is assigned to, such as `x=x+1`, is evaluated once with the previous value
+/// of the variable, and the variable then depends on nothing, as if it were assigned a number. Assignments that
+/// would make a variable depend on itself through other variables, such as `x=y` after `y=x*2`, are rejected with a
+/// [CircularDependencyException].
+///
+/// Thread-safe. Formulas are evaluated before the graph is locked, so assignments only wait for each other to
+/// update the graph and recompute dependents. If a variable that a formula read is reassigned in the meantime,
+/// the formula is evaluated again while locked.
+/// @author Striker-909
+/// @since v0.3.0
+public final class DependencyGraph {
+    /// An assigned variable.
+    private static final class Node {
+        private final String name;
+        private String formula;
+        private Parser<?> valueParser;
+        private StatementPlan plan;
+        /// The value of [DependencyGraph#changes] when the value of the variable was last set.
+        private long changed;
+        private Set<String> dependencies = Set.of();
+        private final Set<String> dependents = new LinkedHashSet<>();
+
+        private Node(String name) {
+            this.name = name;
+        }
+    }
+
+    /// The result of evaluating a formula.
+    /// @param value The value of the formula
+    /// @param dependencies The variables the formula read
+    /// @param plan A plan that recomputes the value, or `null` if it must be parsed again
+    private record Evaluation<T>(T value, Set<String> dependencies, StatementPlan plan) {}
+
+    private final HashMap<String, Node> nodes = new HashMap<>();
+    /// The number of times a variable was assigned or recomputed.
+    private long changes;
+    private long recomputations;
+
+    DependencyGraph() {}
+
+    /// Evaluates a formula and assigns its value to a variable, then recomputes every variable that depends on it.
+    /// @param name The name of the variable
+    /// @param formula The text of the value
+    /// @param valueParser A parser to evaluate the formula in the current [EvaluationContext]
+    /// @return The parser for the variable
+    /// @throws CircularDependencyException If the formula reads the variable through other variables
+    <T> FunctionParser<T> assign(String name, String formula, Parser<T> valueParser) {
+        long start;
+        synchronized (this) {
+            start = changes;
+        }
+        Evaluation<T> evaluation = evaluate(formula, valueParser);
+        synchronized (this) {
+            if (changedSince(start, evaluation.dependencies())) evaluation = evaluate(formula, valueParser);
+            if (evaluation.dependencies().contains(name)) {
+                // Reads the previous value, so the new value is fixed rather than recomputed
+                evaluation = new Evaluation<>(evaluation.value(), Set.of(), null);
+            }
+            List<String> cycle = cycle(name, evaluation.dependencies());
+            if (cycle != null) throw new CircularDependencyException(cycle);
+            Node node = nodes.computeIfAbsent(name, Node::new);
+            node.formula = formula;
+            node.valueParser = valueParser;
+            link(node, evaluation);
+            FunctionParser<T> parser = AssignmentParser.define(name, evaluation.value());
+            node.changed = ++changes;
+            for (Node dependent : downstream(node)) {
+                recompute(dependent);
+            }
+            return parser;
+        }
+    }
+
+    /// Returns if any of some variables was assigned or recomputed after a number of changes.
+    private boolean changedSince(long start, Set<String> names) {
+        if (changes == start) return false;
+        for (String name : names) {
+            Node node = nodes.get(name);
+            if (node != null && node.changed > start) return true;
+        }
+        return false;
+    }
+
+    /// Evaluates a formula, recording the variables it reads.
+    private static <T> Evaluation<T> evaluate(String formula, Parser<T> valueParser) {
+        try (var recorder = StatementPlan.record(formula)) {
+            T value = valueParser.parse(formula).value();
+            return new Evaluation<>(value, recorder.reads(), recorder.plan());
+        }
+    }
+
+    /// Recomputes the value of a variable from its formula.
+    private void recompute(Node node) {
+        Object value;
+        if (node.plan != null && node.plan.isCurrent()) {
+            value = node.plan.execute().get();
+        } else {
+            Evaluation<?> evaluation = evaluate(node.formula, node.valueParser);
+            // A formula that now reads itself keeps the dependencies it had, so the graph stays acyclic
+            if (cycle(node.name, evaluation.dependencies()) == null) link(node, evaluation);
+            value = evaluation.value();
+        }
+        AssignmentParser.define(node.name, value);
+        node.changed = ++changes;
+        recomputations++;
+    }
+
+    /// Replaces the dependencies and plan of a variable.
+    private void link(Node node, Evaluation<?> evaluation) {
+        for (String dependency : node.dependencies) {
+            Node n = nodes.get(dependency);
+            if (n != null) n.dependents.remove(node.name);
+        }
+        node.dependencies = evaluation.dependencies();
+        node.plan = evaluation.plan();
+        for (String dependency : node.dependencies) {
+            nodes.computeIfAbsent(dependency, Node::new).dependents.add(node.name);
+        }
+    }
+
+    /// Finds a path from the dependencies of a formula back to the variable it is assigned to.
+    /// @return The cycle, starting and ending with the variable, or `null` if there is none
+    private List<String> cycle(String name, Set<String> dependencies) {
+        HashMap<String, String> parents = new HashMap<>();
+        ArrayDeque<String> pending = new ArrayDeque<>();
+        for (String dependency : dependencies) {
+            if (parents.putIfAbsent(dependency, name) == null) pending.add(dependency);
+        }
+        while (!pending.isEmpty()) {
+            String current = pending.poll();
+            if (current.equals(name)) {
+                ArrayList<String> cycle = new ArrayList<>();
+                cycle.add(name);
+                for (String n = parents.get(name); !n.equals(name); n = parents.get(n)) cycle.add(n);
+                cycle.add(name);
+                Collections.reverse(cycle);
+                return cycle;
+            }
+            Node node = nodes.get(current);
+            if (node == null) continue;
+            for (String dependency : node.dependencies) {
+                if (parents.putIfAbsent(dependency, current) == null) pending.add(dependency);
+            }
+        }
+        return null;
+    }
+
+    /// Returns every variable that depends on a variable, directly or indirectly, in topological order.
+    private List<Node> downstream(Node changed) {
+        // The reverse of the order a depth-first search along dependents finishes nodes in is topological
+        ArrayList<Node> finished = new ArrayList<>();
+        HashSet<Node> visited = new HashSet<>();
+        ArrayDeque<Node> path = new ArrayDeque<>();
+        ArrayDeque<Iterator<String>> children = new ArrayDeque<>();
+        visited.add(changed);
+        path.push(changed);
+        children.push(changed.dependents.iterator());
+        while (!path.isEmpty()) {
+            Iterator<String> next = children.peek();
+            if (next.hasNext()) {
+                Node child = nodes.get(next.next());
+                if (visited.add(child)) {
+                    path.push(child);
+                    children.push(child.dependents.iterator());
+                }
+            } else {
+                finished.add(path.pop());
+                children.pop();
+            }
+        }
+        finished.remove(finished.size() - 1);
+        Collections.reverse(finished);
+        return finished;
+    }
+
+    /// Returns the variables that a variable's formula reads.
+    /// @param name The name of the variable
+    /// @return The names of the variables, which is empty if the variable has no formula
+    public synchronized Set<String> dependencies(String name) {
+        Node node = nodes.get(name);
+        return node == null ? Set.of() : Set.copyOf(node.dependencies);
+    }
+
+    /// Returns the variables whose formulas read a variable.
+    /// @param name The name of the variable
+    /// @return The names of the variables
+    public synchronized Set<String> dependents(String name) {
+        Node node = nodes.get(name);
+        return node == null ? Set.of() : Set.copyOf(node.dependents);
+    }
+
+    /// Returns the formula last assigned to a variable.
+    /// @param name The name of the variable
+    /// @return The text of the value, or `null` if the variable has not been assigned
+    public synchronized String formula(String name) {
+        Node node = nodes.get(name);
+        return node == null ? null : node.formula;
+    }
+
+    /// Returns the number of times a variable was recomputed because a variable it depends on was reassigned.
+    /// @return The number of recomputations
+    public synchronized long recomputations() {
+        return recomputations;
+    }
+}
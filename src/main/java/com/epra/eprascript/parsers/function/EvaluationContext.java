@@ -0,0 +1,169 @@
+package com.epra.eprascript.parsers.function;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/// The variable and [Supplier] state used while evaluating with [`FunctionParsers`](FunctionParser).
+///
+/// A context owns the [SupplierRegistry] that function addresses are registered in and the variables assigned with
+/// [AssignmentParser]. Parsers do not hold any of this state, so the same parsers (such as the ones in
+/// [ArithmeticParsers](com.epra.eprascript.parsers.math.ArithmeticParsers)) can be used by any number of contexts
+/// at once.
+///
+/// A context is used by entering it on a thread with [EvaluationContext#enter()], [EvaluationContext#run(Runnable)]
+/// or [EvaluationContext#call(Supplier)]. While no context is entered, the shared [EvaluationContext#global()] context
+/// is used. Use a separate context for each session that evaluates concurrently with others.
+///
+/// Variables can be read and assigned from any number of threads at once, but the [SupplierRegistry] of a context
+/// is used by one thread at a time. Evaluating on two threads at once in the same context, including the global
+/// context, throws an [IllegalStateException] rather than mixing up their suppliers. Threads can share variables
+/// through [EvaluationContext#fork()].
+/// @author Striker-909
+/// @since v0.3.0
+public final class EvaluationContext {
+    /// The context used when no context is entered.
+    private static final EvaluationContext GLOBAL = new EvaluationContext();
+    /// The context entered on each thread.
+    private static final ThreadLocal<EvaluationContext> CURRENT = new ThreadLocal<>();
+
+    /// Restores the previously entered context when closed.
+    public static final class Entered implements AutoCloseable {
+        private final EvaluationContext previous;
+
+        private Entered(EvaluationContext previous) {
+            this.previous = previous;
+        }
+
+        /// Restores the context that was entered before.
+        public void close() {
+            if (previous == null) CURRENT.remove(); else CURRENT.set(previous);
+        }
+    }
+
+    private final SupplierRegistry addresses;
+    /// All variable names and the corresponding [FunctionParser] for parsing that variable.
+    ///
+    /// Ordered by variable name, in reverse.
+    private final ConcurrentSkipListMap<String, FunctionParser<?>> assignments;
+    /// A trie of all variable names, for fetching variables in one pass.
+    private final VariableIndex index;
+    /// The dependencies between the variables.
+    private final DependencyGraph dependencies;
+
+    /// The variable and [Supplier] state used while evaluating with [`FunctionParsers`](FunctionParser).
+    /// @param capacity The maximum number of suppliers registered at once
+    public EvaluationContext(int capacity) {
+        this(new SupplierRegistry(capacity), new ConcurrentSkipListMap<>(Comparator.reverseOrder()), new VariableIndex(), new DependencyGraph());
+    }
+
+    private EvaluationContext(SupplierRegistry addresses, ConcurrentSkipListMap<String, FunctionParser<?>> assignments, VariableIndex index, DependencyGraph dependencies) {
+        this.addresses = addresses;
+        this.assignments = assignments;
+        this.index = index;
+        this.dependencies = dependencies;
+    }
+
+    /// The variable and [Supplier] state used while evaluating with [`FunctionParsers`](FunctionParser),
+    /// with room for `1048576` registered suppliers.
+    public EvaluationContext() {
+        this(1 << 20);
+    }
+
+    /// Returns a context that shares the variables of this context, with its own [SupplierRegistry].
+    ///
+    /// Supplier scopes are released in the order they were opened, so threads evaluating with the same variables
+    /// at once should each use their own fork.
+    /// @return The forked context
+    public EvaluationContext fork() {
+        return new EvaluationContext(new SupplierRegistry(addresses.capacity()), assignments, index, dependencies);
+    }
+
+    /// Returns the context entered on the current thread, or the global context if none is entered.
+    /// @return The current context
+    public static EvaluationContext current() {
+        EvaluationContext context = CURRENT.get();
+        return context == null ? GLOBAL : context;
+    }
+
+    /// Returns the context used when no context is entered. It is shared by all threads, so only one thread should
+    /// evaluate in it at a time.
+    /// @return The global context
+    public static EvaluationContext global() {
+        return GLOBAL;
+    }
+
+    /// Enters this context on the current thread until the returned object is closed.
+    /// @return An object that restores the previous context when closed
+    public Entered enter() {
+        EvaluationContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return new Entered(previous);
+    }
+
+    /// Runs an action with this context entered on the current thread.
+    /// @param action The action to run
+    public void run(Runnable action) {
+        Entered entered = enter();
+        try {
+            action.run();
+        } finally {
+            entered.close();
+        }
+    }
+
+    /// Runs an action with this context entered on the current thread and returns its result.
+    /// @param action The action to run
+    /// @return The result of the action
+    public <R> R call(Supplier<R> action) {
+        Entered entered = enter();
+        try {
+            return action.get();
+        } finally {
+            entered.close();
+        }
+    }
+
+    /// Returns the registry that suppliers parsed in this context are registered in.
+    /// @return The supplier registry
+    public SupplierRegistry addresses() {
+        return addresses;
+    }
+
+    /// Returns all variable names and the corresponding [FunctionParser] for parsing that variable.
+    /// @return A read-only view of the variables, ordered by variable name in reverse
+    public Map<String, FunctionParser<?>> assignments() {
+        return java.util.Collections.unmodifiableMap(assignments);
+    }
+
+    /// Returns the dependencies between the variables of this context.
+    /// @return The dependency graph
+    public DependencyGraph dependencies() {
+        return dependencies;
+    }
+
+    /// Assigns a variable, replacing any previous assignment.
+    /// @param name The name of the variable
+    /// @param parser The parser for the variable
+    void assign(String name, FunctionParser<?> parser) {
+        // Forks share the index, so lock it rather than this context
+        synchronized (index) {
+            index.put(name, parser);
+            assignments.put(name, parser);
+        }
+    }
+
+    /// Returns the parser for a variable.
+    /// @param name The name of the variable
+    /// @return The parser, or `null` if the variable has not been assigned
+    FunctionParser<?> assignment(String name) {
+        return assignments.get(name);
+    }
+
+    /// Returns the trie of all variable names.
+    /// @return The variable index
+    VariableIndex index() {
+        return index;
+    }
+}
@@ -1,6 +1,7 @@
 package com.epra.eprascript.parsers.function;
 
 import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.alphanumeric.CharParser;
 import com.epra.eprascript.parsers.alphanumeric.RegExParser;
 import com.epra.eprascript.parsers.Token;
 
@@ -14,83 +15,137 @@ import java.util.function.Supplier;
 /// @author Striker-909
 /// @since v0.2.0
 public class FunctionParser<T> extends Parser<Supplier<T>> {
-    /// The [HashMap] of all string addresses and corresponding [Suppliers][Supplier].
-    private static final HashMap<String, Supplier> ADDRESSES = new HashMap<>();
-
     /// Registers a [Supplier] at an address that can be fetched using ([FunctionParser#FUNCTION_FETCHER]).
     ///
-    /// The address is found by taking the `toString` of the [Supplier] after the `/`,
-    /// and appending `§` to either side,
-    /// resulting in an address of the form `§.x................@........§`
-    /// where `.` represents a number or lowercase letter.
-    /// In some instances, there will be only 7 characters after the `@` instead of 8.
-    ///
-    /// Will fail if there is already a [Supplier] at the same address.
+    /// The address is the next free handle of the [SupplierRegistry] of the current [EvaluationContext]
+    /// in base 36 with `§` appended to either side, such as `§1a§`.
     /// @param supplier The supplier to register
-    /// @return If the supplier was registered successfully
-    private static boolean register(Supplier<?> supplier) {
-        String address = supplierToAddress(supplier);
-        if (ADDRESSES.containsKey(address)) return false;
-        ADDRESSES.put(address, supplier);
-        return true;
+    /// @return The registered supplier, whose `toString` is its address
+    private static <T> Supplier<T> register(Supplier<T> supplier) {
+        return EvaluationContext.current().addresses().register(supplier);
+    }
+
+    /// Opens a scope in the current [EvaluationContext] that releases every [Supplier] registered by parsing
+    /// until it is closed.
+    ///
+    /// Addresses registered in the scope can no longer be fetched after it is closed.
+    /// Without a scope, suppliers are only replaced once the registry wraps around. Use a scope around each complete
+    /// evaluation to release its suppliers as soon as it is done:
+    /// ```
+    /// try (var scope = FunctionParser.openScope()) {
+    ///     String text = parser.recursiveReplaceAll(input, FunctionParser::supplierToAddress);
+    ///     Object value = FunctionParser.FUNCTION_FETCHER.parse(text).value().get();
+    /// }
+    /// ```
+    /// @return The scope
+    public static SupplierRegistry.Scope openScope() {
+        return EvaluationContext.current().addresses().openScope();
     }
 
-    /// Finds the address of a given [Supplier].
+    /// Finds the address of a given [Supplier], registering it if it is not registered yet.
     ///
-    /// The address is found by taking the `toString` of the [Supplier] after the `/`,
-    /// and appending `§` to either side,
-    /// resulting in an address of the form `§.x................@........§`
-    /// where `.` represents a number or lowercase letter.
-    /// In some instances, there will be only 7 characters after the `@` instead of 8.
+    /// The address is the handle of the supplier in base 36 with `§` appended to either side, such as `§1a§`.
     /// @param supplier A supplier
     /// @return The address of that supplier
     public static String supplierToAddress(Supplier<?> supplier) {
-        return "§" + supplier.toString().split("/")[1] + "§";
+        return register(supplier).toString();
     }
-    /// Finds the address of a given [Supplier].
+    /// Finds the address of a given [Supplier], registering it if it is not registered yet.
     ///
-    /// The address is found by taking the `toString` of the [Supplier] after the `/`,
-    /// and appending `§` to either side,
-    /// resulting in an address of the form `§.x................@........§`
-    /// where `.` represents a number or lowercase letter.
-    /// In some instances, there will be only 7 characters after the `@` instead of 8.
+    /// The address is the handle of the supplier in base 36 with `§` appended to either side, such as `§1a§`.
     /// @param s A supplier
     /// @return The address of that supplier
+    /// @throws IllegalArgumentException If the object is not a supplier
     public static <S> String supplierToAddress(S s) {
-        return "§" + s.toString().split("/")[1] + "§";
+        if (!(s instanceof Supplier<?> supplier)) {
+            throw new IllegalArgumentException("Only suppliers have addresses: " + s);
+        }
+        return supplierToAddress(supplier);
     }
 
+    /// A RegEx expression matching a function address.
+    private static final String ADDRESS_REGEX = SupplierRegistry.ADDRESS_REGEX;
+    /// A [CharParser] for the `§` on either side of an address.
+    private static final CharParser ADDRESS_MARK = new CharParser('§');
+
     /// A [Parser] that identifies the first instance of a function address in a
     /// string and replaces the address with the value of that supplier if it is
     /// a registered address.
+    ///
+    /// Finds addresses by scanning for `§`, and resolves them without a RegEx in the current [EvaluationContext].
+    /// While a [StatementPlan] is recorded, the supplier fetched last is the one the plan produces.
     /// @see FunctionParser#register(Supplier)
     public static final Parser<Supplier<?>> FUNCTION_FETCHER = new Parser<>(
-            s -> {
-                Token<String> t = new RegExParser("§[\\da-z]x[\\da-z]{16}@[\\da-z]+§").parse(s);
-                if (!t.success()) { return new Token<>(null, "", s, false); }
-                return new Token<Supplier<?>>(ADDRESSES.get(t.value()), t.head(), t.follow(), true);
+            (s, from, to) -> {
+                Token<Supplier<?>> t = fetch(s, from, to);
+                StatementPlan.Recorder recorder = StatementPlan.recorder();
+                if (recorder != null && t.success() && t.value() != null) recorder.fetched(t.value());
+                return t;
             }
     );
 
-    /// A [HashMap] of all function signatures and the corresponding [RegExParser] for that signature.
-    private static final HashMap<String, RegExParser> SIGNATURES = new HashMap<>();
+    /// Finds the first address in a region and resolves it in the current [EvaluationContext].
+    /// @param s The sequence to search
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return The address, with the supplier at it as its value, or a failure if the region has no address
+    static Token<Supplier<?>> fetch(CharSequence s, int from, int to) {
+        SupplierRegistry addresses = EvaluationContext.current().addresses();
+        Token<Character> open = ADDRESS_MARK.parse(s, from, to);
+        while (open.success()) {
+            int end = addressEnd(s, open.start(), to);
+            if (end != -1) {
+                return new Token<>(addresses.resolve(s, open.end(), end - 1), s, from, open.start(), end, to, true);
+            }
+            open = ADDRESS_MARK.parse(s, open.end(), to);
+        }
+        return Token.failure(s, from, to);
+    }
+
+    /// Finds the end of an address starting at a position.
+    /// @param s The sequence containing the address
+    /// @param at The position of the opening `§`
+    /// @param to The end of the region (exclusive)
+    /// @return The position after the closing `§`, or `-1` if there is no address at the position
+    static int addressEnd(CharSequence s, int at, int to) {
+        if (at >= to || s.charAt(at) != '§') return -1;
+        int end = at + 1;
+        while (end < to && isHandleDigit(s.charAt(end))) end++;
+        return end > at + 1 && end < to && s.charAt(end) == '§' ? end + 1 : -1;
+    }
+
+    private static boolean isHandleDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z');
+    }
+
     /// A [RegExParser] for the standard variable signature.
     ///
     /// The standard variable signature is `$NAME$` where `NAME` is a letter or underscore followed by any number of letters,
     /// digits, or underscores.
     public static final RegExParser STANDARD_VARIABLE_REGEX = new RegExParser("\\\\\\$[a-zA-Z_][a-zA-Z_\\d]*\\\\\\$");
 
+    /// A [Parser] for the standard variable signature that returns the name of the variable,
+    /// such as `val` for `$val$`.
+    ///
+    /// Shared by the function parsers of [ArithmeticParsers](com.epra.eprascript.parsers.math.ArithmeticParsers)
+    /// and [AssignmentParser].
+    public static final Parser<String> STANDARD_VARIABLE_NAME = new Parser<>((s, from, to) -> {
+        Token<String> token = STANDARD_VARIABLE_REGEX.parse(s, from, to);
+        if (!token.success()) { return token; }
+        return token.withValue(token.value().substring(2, token.value().length() - 2));
+    });
+
     /// A [Parser] subclass that parses for a specific function signature and applies a function
     /// to the values specified in the signature.
     ///
     /// Parsing will return a [Supplier] that will return the result of the function.
-    /// Parsed suppliers are stored in [FunctionParser#ADDRESSES] with their address given by
-    /// [FunctionParser#supplierToAddress].
+    /// Parsed suppliers are registered in the current [EvaluationContext], and their `toString` is their address
+    /// (see [FunctionParser#supplierToAddress]).
     ///
     /// Variable names in the signature should match the names of keys in a [HashMap] that the
     /// function will use.
     ///
-    /// Using [Parser#recursiveReplaceAll(String)] is recommended for fully parsing a layered functional statement.
+    /// Using [Parser#recursiveReplaceAll(CharSequence)] is recommended for fully parsing a layered functional statement.
     ///
     /// @param signature The signature of the function
     /// @param valueRegex A RegEx expression that specifies what values are
@@ -99,40 +154,19 @@ public class FunctionParser<T> extends Parser<Supplier<T>> {
     /// @param function A function from a hash map of variable name-value pairs to
     /// a supplier of a value of type `T`
     public FunctionParser(String signature, String valueRegex, Parser<String> variableParser, Function<HashMap<String, String>, Supplier<T>> function) {
-        super(
-                s -> {
-                    RegExParser regex = SIGNATURES.get(signature);
-                    Token<String> t = regex.parse(s);
-                    if (!t.success()) { return new Token<>(null, "", s, false); }
-                    HashMap<String, String> variables = regex.getNamedGroups(s).value();
-                    variables.forEach((k, v) -> {
-                        Token<Supplier<?>> supplierToken = FUNCTION_FETCHER.parse(v);
-                        if (supplierToken.success()) {
-                            variables.put(k, supplierToken.value().get().toString());
-                        }
-                    });
-                    Supplier<T> supplier = function.apply(variables);
-                    register(supplier);
-                    return new Token<>(supplier, t.head(), t.follow(), true);
-                }
-        );
-        String signatureRegex = variableParser.replaceAll(
-                RegExParser.REGEX_META_CHARACTERS.replaceAll(signature, c -> "\\" + c),
-                value -> "(?<" + value + ">(?:§[\\da-z]x[\\da-z]{16}@[\\da-z]+§|" + valueRegex + "))");
-        RegExParser signatureRegexParser = new RegExParser(signatureRegex);
-        SIGNATURES.put(signature, signatureRegexParser);
+        this(Signature.compile(signature, variableParser, name -> valueRegex), compatible(function), false);
     }
     /// A [Parser] subclass that parses for a specific function signature and applies a function
     /// to the values specified in the signature.
     ///
     /// Parsing will return a [Supplier] that will return the result of the function.
-    /// Parsed suppliers are stored in [FunctionParser#ADDRESSES] with their address given by
-    /// [FunctionParser#supplierToAddress].
+    /// Parsed suppliers are registered in the current [EvaluationContext], and their `toString` is their address
+    /// (see [FunctionParser#supplierToAddress]).
     ///
     /// Variable names in the signature should match the names of keys in a [HashMap] that the
     /// function will use.
     ///
-    /// Using [Parser#recursiveReplaceAll(String)] is recommended for fully parsing a layered functional statement.
+    /// Using [Parser#recursiveReplaceAll(CharSequence)] is recommended for fully parsing a layered functional statement.
     ///
     /// Uses [FunctionParser#STANDARD_VARIABLE_REGEX] as the variable [Parser].
     ///
@@ -149,13 +183,13 @@ public class FunctionParser<T> extends Parser<Supplier<T>> {
     /// to the values specified in the signature.
     ///
     /// Parsing will return a [Supplier] that will return the result of the function.
-    /// Parsed suppliers are stored in [FunctionParser#ADDRESSES] with their address given by
-    /// [FunctionParser#supplierToAddress].
+    /// Parsed suppliers are registered in the current [EvaluationContext], and their `toString` is their address
+    /// (see [FunctionParser#supplierToAddress]).
     ///
     /// Variable names in the signature should match the names of keys in a [HashMap] that the
     /// function will use.
     ///
-    /// Using [Parser#recursiveReplaceAll(String)] is recommended for fully parsing a layered functional statement.
+    /// Using [Parser#recursiveReplaceAll(CharSequence)] is recommended for fully parsing a layered functional statement.
     ///
     /// @param signature The signature of the function
     /// @param valueRegex A hash map from variable names to RegEx expressions specifying what values are permitted
@@ -164,41 +198,256 @@ public class FunctionParser<T> extends Parser<Supplier<T>> {
     /// @param function A function from a hash map of variable name-value pairs to
     /// a supplier of a value of type `T`
     public FunctionParser(String signature, HashMap<String, String> valueRegex, Parser<String> variableParser, Function<HashMap<String, String>, Supplier<T>> function) {
-        super(
-                s -> {
-                    RegExParser regex = SIGNATURES.get(signature);
-                    Token<String> t = regex.parse(s);
-                    if (!t.success()) { return new Token<>(null, "", s, false); }
-                    HashMap<String, String> variables = regex.getNamedGroups(s).value();
-                    variables.forEach((k, v) -> {
-                        Token<Supplier<?>> supplierToken = FUNCTION_FETCHER.parse(v);
-                        if (supplierToken.success()) {
-                            variables.put(k, supplierToken.value().get().toString());
-                        }
-                    });
-                    Supplier<T> supplier = function.apply(variables);
-                    register(supplier);
-                    return new Token<>(supplier, t.head(), t.follow(), true);
-                }
-        );
-        String signatureRegex = variableParser.replaceAll(
-                RegExParser.REGEX_META_CHARACTERS.replaceAll(signature, c -> "\\" + c),
-                value -> "(?<" + value + ">(?:§[\\da-z]x[\\da-z]{16}@[\\da-z]+§|" + valueRegex.get(value) + "))");
-        RegExParser signatureRegexParser = new RegExParser(signatureRegex);
-        SIGNATURES.put(signature, signatureRegexParser);
+        this(Signature.compile(signature, variableParser, valueRegex::get), compatible(function), false);
+    }
+
+    /// A [FunctionParser] whose function takes the [Arguments] bound to the variables of its signature.
+    ///
+    /// Values of nested functions reach the function as the objects their suppliers return, rather than as text
+    /// that has to be parsed again. Otherwise the same as
+    /// [FunctionParser#FunctionParser(String, String, Parser, Function)].
+    /// @param signature The signature of the function
+    /// @param valueRegex A RegEx expression that specifies what values are
+    /// permitted as a parameter input for the function
+    /// @param variableParser A parser for variable names in the function
+    /// @param function A function from the bound arguments to a supplier of a value of type `T`
+    /// @return The function parser
+    public static <T> FunctionParser<T> typed(String signature, String valueRegex, Parser<String> variableParser, Function<Arguments, Supplier<T>> function) {
+        return new FunctionParser<>(Signature.compile(signature, variableParser, name -> valueRegex), function, false);
+    }
+
+    /// A [FunctionParser] whose function takes the [Arguments] bound to the variables of its signature.
+    ///
+    /// Values of nested functions reach the function as the objects their suppliers return, rather than as text
+    /// that has to be parsed again. Uses [FunctionParser#STANDARD_VARIABLE_REGEX] as the variable [Parser].
+    /// @param signature The signature of the function
+    /// @param valueRegex A RegEx expression that specifies what values are
+    /// permitted as a parameter input for the function
+    /// @param function A function from the bound arguments to a supplier of a value of type `T`
+    /// @return The function parser
+    public static <T> FunctionParser<T> typed(String signature, String valueRegex, Function<Arguments, Supplier<T>> function) {
+        return typed(signature, valueRegex, STANDARD_VARIABLE_REGEX, function);
+    }
+
+    /// A [FunctionParser] whose function takes the [Arguments] bound to the variables of its signature.
+    ///
+    /// Values of nested functions reach the function as the objects their suppliers return, rather than as text
+    /// that has to be parsed again.
+    /// @param signature The signature of the function
+    /// @param valueRegex A hash map from variable names to RegEx expressions specifying what values are permitted
+    /// as a parameter input for that variable
+    /// @param variableParser A parser for variable names in the function
+    /// @param function A function from the bound arguments to a supplier of a value of type `T`
+    /// @return The function parser
+    public static <T> FunctionParser<T> typed(String signature, HashMap<String, String> valueRegex, Parser<String> variableParser, Function<Arguments, Supplier<T>> function) {
+        return new FunctionParser<>(Signature.compile(signature, variableParser, valueRegex::get), function, false);
+    }
+
+    /// Adapts a function of variable name-value pairs to take [Arguments], passing it the text of every value.
+    /// @param function A function from a hash map of variable name-value pairs to
+    /// a supplier of a value of type `T`
+    /// @return The adapted function
+    private static <T> Function<Arguments, Supplier<T>> compatible(Function<HashMap<String, String>, Supplier<T>> function) {
+        return arguments -> function.apply(arguments.toMap());
+    }
+
+    /// A [Parser] subclass that parses for a compiled function signature and applies a function
+    /// to the values specified in the signature.
+    ///
+    /// The parser holds no state other than the signature and the function, so it can be shared by any number of
+    /// [`EvaluationContexts`](EvaluationContext) at once.
+    /// @param signature The compiled signature
+    /// @param function A function from the bound arguments to a supplier of a value of type `T`
+    /// @param shared If matches with the same values share one supplier, see [FunctionParser#shared()]
+    private FunctionParser(Signature signature, Function<Arguments, Supplier<T>> function, boolean shared) {
+        super((s, from, to) -> bind(signature.parser().parseNamedGroups(s, from, to), function, shared));
+        this.signature = signature;
+        this.function = function;
+        this.shared = shared;
+    }
+
+    /// Returns a parser for the same signature and function whose matches share their suppliers.
+    ///
+    /// The first match with some values applies the function and registers the result, which is shared in the
+    /// [SupplierRegistry] of the current [EvaluationContext] until it is released. Any other match of the same
+    /// parser with the same values, such as the second `a*b` of `a*b+a*b`, is given the same supplier without
+    /// applying the function again. Values of nested functions are addresses, so once the inner matches share a
+    /// supplier, outer matches with the same text share one too, and an expression becomes a DAG in which every
+    /// distinct subexpression is evaluated once.
+    ///
+    /// **Only for functions without side effects** whose result depends only on their values, like those of
+    /// [ArithmeticParsers](com.epra.eprascript.parsers.math.ArithmeticParsers). Shared suppliers are forgotten
+    /// whenever a variable is assigned.
+    /// @return The sharing parser, or this parser if it already shares its suppliers
+    public FunctionParser<T> shared() {
+        return shared ? this : new FunctionParser<>(signature, function, true);
+    }
+
+    /// Returns if matches of this parser with the same values share one supplier.
+    /// @return If this parser shares its suppliers
+    public boolean isShared() {
+        return shared;
+    }
+
+    /// The key that a shared supplier is registered under.
+    /// @param function The function that made the supplier
+    /// @param values The values of the signature match, as text
+    private record Application(Function<?, ?> function, HashMap<String, String> values) {}
+
+    /// A function signature compiled into a [RegExParser] with a named group for each variable.
+    ///
+    /// The RegEx and the literal are found when the signature is compiled, but the RegEx is only compiled
+    /// into a pattern the first time the signature is parsed for, so signatures that are never tried cost little.
+    static final class Signature {
+        private final String text;
+        private final String regex;
+        private final String literal;
+        private volatile RegExParser parser;
+
+        /// A function signature compiled into a RegEx.
+        /// @param text The signature
+        /// @param regex The RegEx of the signature, with a named group for each variable
+        /// @param literal The longest run of the signature without variables, which every match contains
+        private Signature(String text, String regex, String literal) {
+            this.text = text;
+            this.regex = regex;
+            this.literal = literal;
+        }
+
+        /// Returns the signature.
+        /// @return The signature
+        String text() {
+            return text;
+        }
+
+        /// Returns the RegEx of the signature, with a named group for each variable.
+        /// @return The RegEx
+        String regex() {
+            return regex;
+        }
+
+        /// Returns the longest run of the signature without variables, which every match contains.
+        /// @return The literal
+        String literal() {
+            return literal;
+        }
+
+        /// Returns the [RegExParser] of the signature, compiling it on first use.
+        /// @return The compiled signature
+        RegExParser parser() {
+            RegExParser p = parser;
+            if (p == null) {
+                // Compiling twice on a race is harmless, as both parsers are the same
+                p = new RegExParser(regex);
+                parser = p;
+            }
+            return p;
+        }
+
+        /// Compiles a function signature.
+        /// @param signature The signature of the function
+        /// @param variableParser A parser for variable names in the function
+        /// @param valueRegex A function from variable names to RegEx expressions specifying what values are
+        /// permitted as a parameter input for that variable
+        /// @return The compiled signature
+        static Signature compile(String signature, Parser<String> variableParser, Function<String, String> valueRegex) {
+            String escaped = RegExParser.REGEX_META_CHARACTERS.replaceAll(signature, c -> "\\" + c);
+            String signatureRegex = variableParser.replaceAll(
+                    escaped,
+                    value -> "(?<" + value + ">(?:" + ADDRESS_REGEX + "|" + valueRegex.apply(value) + "))");
+            String literal = "";
+            int position = 0;
+            while (true) {
+                Token<String> variable = variableParser.parse(escaped, position, escaped.length());
+                int literalEnd = variable.success() ? variable.start() : escaped.length();
+                String run = escaped.substring(position, literalEnd).replaceAll("\\\\(.)", "$1");
+                if (run.length() > literal.length()) literal = run;
+                if (!variable.success()) break;
+                position = variable.end();
+            }
+            return new Signature(signature, signatureRegex, literal);
+        }
+    }
+
+    private final Signature signature;
+    private final Function<Arguments, Supplier<T>> function;
+    private final boolean shared;
+
+    /// Applies a function to the values of a signature match, fetching any addresses among the values first,
+    /// and registers the resulting [Supplier], or finds the supplier shared for the same values.
+    /// @param t The signature match
+    /// @param function A function from the bound arguments to a supplier of a value of type `T`
+    /// @param shared If a supplier shared for the same function and values is used instead of applying the function
+    /// @return The match, with the registered supplier as its value
+    @SuppressWarnings("unchecked")
+    private static <T> Token<Supplier<T>> bind(Token<HashMap<String, String>> t, Function<Arguments, Supplier<T>> function, boolean shared) {
+        if (!t.success()) { return Token.failure(t.input(), t.from(), t.to()); }
+        StatementPlan.Recorder recorder = StatementPlan.recorder();
+        SupplierRegistry addresses = EvaluationContext.current().addresses();
+        Supplier<T> supplier;
+        if (shared) {
+            Application key = new Application(function, t.value());
+            Supplier<T> existing = (Supplier<T>) addresses.shared(key);
+            // A recording can only refer to suppliers made while it was recording
+            if (existing != null && (recorder == null || recorder.produced(existing))) return t.withValue(existing);
+            supplier = addresses.share(key, function.apply(Arguments.bind(t.value())));
+        } else {
+            supplier = register(function.apply(Arguments.bind(t.value())));
+        }
+        if (recorder != null) recorder.step(function, t.value(), supplier);
+        return t.withValue(supplier);
+    }
+
+    /// Applies the function of this parser to the values of a signature match of this parser.
+    /// @param match A successful match of [FunctionParser#signatureParser()]
+    /// @return The match, with the registered supplier as its value
+    Token<Supplier<T>> bind(Token<HashMap<String, String>> match) {
+        return bind(match, function, shared);
+    }
+
+    /// Applies the function of this parser to the values of its variables, without parsing or registering
+    /// the result.
+    /// @param arguments The values of the variables
+    /// @return The supplier returned by the function
+    Supplier<T> apply(Arguments arguments) {
+        return function.apply(arguments);
+    }
+
+    /// Returns the function of this parser.
+    /// @return A function from the bound arguments to a supplier of a value of type `T`
+    Function<Arguments, Supplier<T>> function() {
+        return function;
+    }
+
+    /// Returns the signature of this parser.
+    /// @return The signature
+    public String signature() {
+        return signature.text();
+    }
+
+    /// Returns the [RegExParser] compiled from the signature of this parser, with a named group for each variable.
+    /// @return The compiled signature
+    public RegExParser signatureParser() {
+        return signature.parser();
+    }
+
+    /// Returns the longest run of the signature of this parser without variables, which every match contains.
+    /// @return The literal, which is empty if the signature has no text outside of variables
+    public String literal() {
+        return signature.literal();
     }
 
     /// A [Parser] subclass that parses for a specific function signature and applies a function
     /// to the values specified in the signature.
     ///
     /// Parsing will return a [Supplier] that will return the result of the function.
-    /// Parsed suppliers are stored in [FunctionParser#ADDRESSES] with their address given by
-    /// [FunctionParser#supplierToAddress].
+    /// Parsed suppliers are registered in the current [EvaluationContext], and their `toString` is their address
+    /// (see [FunctionParser#supplierToAddress]).
     ///
     /// Variable names in the signature should match the names of keys in a [HashMap] that the
     /// function will use.
     ///
-    /// Using [Parser#recursiveReplaceAll(String)] is recommended for fully parsing a layered functional statement.
+    /// Using [Parser#recursiveReplaceAll(CharSequence)] is recommended for fully parsing a layered functional statement.
     ///
     /// Uses [FunctionParser#STANDARD_VARIABLE_REGEX] as the variable [Parser].
     ///
@@ -214,7 +463,7 @@ public class FunctionParser<T> extends Parser<Supplier<T>> {
     /// Replaces the first success of the parser when parsing the input with the address of the parsed [Supplier].
     /// @param input The string to be parsed
     /// @return The string with the first parser success replaced with the address of the parsed supplier
-    public String replace(String input) {
-        return replace(input, s -> "§" + s.toString().split("/")[1] + "§");
+    public String replace(CharSequence input) {
+        return replace(input, FunctionParser::supplierToAddress);
     }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.epra.eprascript.parsers.function;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.alphanumeric.CharScanner;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/// A [Parser] that dispatches between several [`FunctionParsers`](FunctionParser), like combining them with
+/// [`Combinator.OR`](com.epra.eprascript.parsers.modifiers.Combinator#OR), without trying every signature.
+///
+/// Every match of a signature contains the [literal](FunctionParser#literal()) of that signature, such as the `+`
+/// of `$val1$+$val2$`. The dispatcher scans the input once for the literals of all its signatures, and only
+/// matches the signatures whose literals were found. Of those, the match with the longest `follow` wins, or the
+/// first of the parsers if several have the same length, the same as with `or`.
+///
+/// Only the winning parser's function is applied, so a dispatch registers a single [Supplier].
+/// @author Striker-909
+/// @since v0.3.0
+public class SignatureDispatcher extends Parser<Supplier<?>> {
+
+    /// The signature that matched during a dispatch.
+    /// @param parser The parser of the signature that matched
+    /// @param variables The values bound to the variables of the signature
+    public record Match(FunctionParser<?> parser, HashMap<String, String> variables) {
+        /// Returns the signature that matched.
+        /// @return The signature
+        public String signature() {
+            return parser.signature();
+        }
+    }
+
+    /// The literals of all signatures, grouped by their first character.
+    /// @param parsers The parsers, in order
+    /// @param literals The literal of each parser
+    /// @param firsts The distinct first characters of the literals, in ascending order
+    /// @param byFirst The indices of the parsers whose literals start with each of the first characters
+    /// @param always The indices of the parsers without a literal, which are always matched
+    /// @param scanner A scanner for the first characters
+    private record Table(FunctionParser<?>[] parsers, String[] literals, char[] firsts, int[][] byFirst, int[] always,
+                         CharScanner scanner) {
+
+        static Table of(List<FunctionParser<?>> parsers) {
+            FunctionParser<?>[] array = parsers.toArray(new FunctionParser<?>[0]);
+            String[] literals = new String[array.length];
+            StringBuilder firsts = new StringBuilder();
+            for (int i = 0; i < array.length; i++) {
+                literals[i] = array[i].literal();
+                if (!literals[i].isEmpty() && firsts.indexOf(literals[i].substring(0, 1)) == -1) {
+                    firsts.append(literals[i].charAt(0));
+                }
+            }
+            char[] sorted = firsts.toString().toCharArray();
+            Arrays.sort(sorted);
+            int[][] byFirst = new int[sorted.length][];
+            for (int k = 0; k < sorted.length; k++) {
+                char c = sorted[k];
+                byFirst[k] = indices(literals, l -> !l.isEmpty() && l.charAt(0) == c);
+            }
+            return new Table(array, literals, sorted, byFirst, indices(literals, String::isEmpty), new CharScanner(sorted));
+        }
+
+        private static int[] indices(String[] literals, java.util.function.Predicate<String> predicate) {
+            int[] indices = new int[literals.length];
+            int count = 0;
+            for (int i = 0; i < literals.length; i++) {
+                if (predicate.test(literals[i])) indices[count++] = i;
+            }
+            return Arrays.copyOf(indices, count);
+        }
+
+        /// Finds which signatures have their literals in a region, in one scan.
+        boolean[] candidates(CharSequence s, int from, int to) {
+            boolean[] found = new boolean[parsers.length];
+            for (int i : always) found[i] = true;
+            int remaining = parsers.length - always.length;
+            for (int i = scanner.indexIn(s, from, to); i != -1 && remaining > 0; i = scanner.indexIn(s, i + 1, to)) {
+                int k = Arrays.binarySearch(firsts, s.charAt(i));
+                for (int p : byFirst[k]) {
+                    if (!found[p] && startsWith(s, i, to, literals[p])) {
+                        found[p] = true;
+                        remaining--;
+                    }
+                }
+            }
+            return found;
+        }
+
+        private static boolean startsWith(CharSequence s, int at, int to, String literal) {
+            if (to - at < literal.length()) return false;
+            for (int j = 1; j < literal.length(); j++) {
+                if (s.charAt(at + j) != literal.charAt(j)) return false;
+            }
+            return true;
+        }
+
+        Token<Match> dispatch(CharSequence s, int from, int to) {
+            boolean[] candidates = candidates(s, from, to);
+            Token<HashMap<String, String>> best = null;
+            int winner = -1;
+            for (int i = 0; i < parsers.length; i++) {
+                if (!candidates[i]) continue;
+                Token<HashMap<String, String>> t = parsers[i].signatureParser().parseNamedGroups(s, from, to);
+                if (t.success() && (best == null || t.followLength() > best.followLength())) {
+                    best = t;
+                    winner = i;
+                }
+            }
+            if (best == null) return Token.failure(s, from, to);
+            return best.withValue(new Match(parsers[winner], best.value()));
+        }
+    }
+
+    private final Table table;
+
+    /// A [Parser] that dispatches between several [`FunctionParsers`](FunctionParser), scanning the input once
+    /// for the literals of their signatures.
+    /// @param parsers The parsers, in order of priority for matches with the same `follow` length
+    public SignatureDispatcher(FunctionParser<?>... parsers) {
+        this(Table.of(List.of(parsers)));
+    }
+
+    private SignatureDispatcher(Table table) {
+        super((s, from, to) -> {
+            Token<Match> match = table.dispatch(s, from, to);
+            if (!match.success()) { return Token.failure(s, from, to); }
+            return bind(match.value().parser(), match.withValue(match.value().variables()));
+        });
+        this.table = table;
+    }
+
+    private static <T> Token<Supplier<?>> bind(FunctionParser<T> parser, Token<HashMap<String, String>> match) {
+        Token<Supplier<T>> t = parser.bind(match);
+        return t.withValue(t.value());
+    }
+
+    /// Finds the signature that matches a region, without applying its function.
+    /// @param input The sequence to parse
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return A token of the signature that matched and its bound variables, positioned at the match
+    public Token<Match> dispatch(CharSequence input, int from, int to) {
+        return table.dispatch(input, from, to);
+    }
+
+    /// Finds the signature that matches the input, without applying its function.
+    /// @param input The sequence to parse
+    /// @return A token of the signature that matched and its bound variables, positioned at the match
+    public Token<Match> dispatch(CharSequence input) {
+        return dispatch(input, 0, input.length());
+    }
+
+    /// Returns the parsers this dispatcher dispatches between, in order.
+    /// @return The parsers
+    public List<FunctionParser<?>> parsers() {
+        return List.of(table.parsers());
+    }
+
+    /// Returns a dispatcher between the parsers of this dispatcher and one more parser, with the lowest priority.
+    /// @param parser The parser to add
+    /// @return The new dispatcher
+    public SignatureDispatcher with(FunctionParser<?> parser) {
+        FunctionParser<?>[] parsers = Arrays.copyOf(table.parsers(), table.parsers().length + 1);
+        parsers[parsers.length - 1] = parser;
+        return new SignatureDispatcher(parsers);
+    }
+}
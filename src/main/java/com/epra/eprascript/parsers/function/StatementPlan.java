@@ -0,0 +1,220 @@
+package com.epra.eprascript.parsers.function;
+
+import com.epra.eprascript.parsers.Token;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/// The functions applied by [`FunctionParsers`](FunctionParser) while evaluating a statement, recorded so that the
+/// statement can be evaluated again without parsing.
+///
+/// A plan is recorded with a [Recorder] while a statement is parsed. Each function applied is a step, and
+/// values that are addresses of suppliers from earlier steps become references to those steps, whose values are
+/// bound as they are when the plan is executed. Reading an
+/// assigned variable is a step that looks up the variable by name when the plan is executed, so executing a plan
+/// always uses the current values of variables.
+///
+/// Which functions are applied only depends on the text of the statement and the names of the assigned variables,
+/// never on their values. Variable names are only found in the text of the statement, so a plan is
+/// [current](StatementPlan#isCurrent()) until a new variable name that occurs in that text is assigned in the
+/// [EvaluationContext] it was recorded in.
+/// @author Striker-909
+/// @since v0.3.0
+public final class StatementPlan {
+    private static final ThreadLocal<Recorder> RECORDING = new ThreadLocal<>();
+
+    /// A step of a plan.
+    private sealed interface Step {
+        /// Applies a function to bound values, where values with a reference use the value of an earlier step.
+        /// @param function The function
+        /// @param names The names of the variables of the function
+        /// @param values The bound text of each variable, used if it has no reference
+        /// @param references The step whose value is bound to each variable, or `-1` if it has none
+        record Call(Function<Arguments, ? extends Supplier<?>> function, String[] names, String[] values, int[] references) implements Step {}
+
+        /// Reads an assigned variable.
+        /// @param name The name of the variable
+        record Read(String name) implements Step {}
+    }
+
+    /// Records the functions applied by [`FunctionParsers`](FunctionParser) on the current thread until closed.
+    public static final class Recorder implements AutoCloseable {
+        private final Recorder previous;
+        private final String statement;
+        private final VariableIndex index;
+        private final int names;
+        private final List<Step> steps = new ArrayList<>();
+        private final Map<Supplier<?>, Integer> produced = new IdentityHashMap<>();
+        /// The supplier last fetched with [FunctionParser#FUNCTION_FETCHER].
+        private Supplier<?> fetched;
+        private boolean replayable = true;
+
+        private Recorder(Recorder previous, String statement) {
+            this.previous = previous;
+            this.statement = statement;
+            this.index = EvaluationContext.current().index();
+            this.names = index.names();
+        }
+
+        /// Records a function applied to the values of a signature match.
+        void step(Function<Arguments, ? extends Supplier<?>> function, HashMap<String, String> bound, Supplier<?> result) {
+            produced.put(result, steps.size());
+            if (function instanceof AssignmentParser.Variable<?> variable) {
+                steps.add(new Step.Read(variable.name()));
+                return;
+            }
+            String[] names = new String[bound.size()];
+            String[] values = new String[bound.size()];
+            int[] references = new int[bound.size()];
+            int i = 0;
+            for (Map.Entry<String, String> entry : bound.entrySet()) {
+                names[i] = entry.getKey();
+                values[i] = entry.getValue();
+                references[i] = reference(entry.getValue());
+                i++;
+            }
+            steps.add(new Step.Call(function, names, values, references));
+        }
+
+        /// Records that a supplier was fetched from its address.
+        void fetched(Supplier<?> supplier) {
+            fetched = supplier;
+        }
+
+        /// Returns if a supplier was made by a recorded step.
+        /// @param supplier The supplier
+        /// @return If a step produced the supplier
+        boolean produced(Supplier<?> supplier) {
+            return produced.containsKey(supplier);
+        }
+
+        /// Finds the step that produced the supplier whose address is in a value.
+        private int reference(String value) {
+            // Resolves the address directly, since it is not the result of the statement
+            Token<Supplier<?>> token = FunctionParser.fetch(value, 0, value.length());
+            if (!token.success()) return -1;
+            Integer step = produced.get(token.value());
+            if (step == null) {
+                // The address was not produced while recording, so the plan cannot reproduce it
+                replayable = false;
+                return -1;
+            }
+            return step;
+        }
+
+        /// Returns a plan of the recorded steps that produces a supplier.
+        /// @param result The supplier the plan should produce
+        /// @return The plan, or `null` if the supplier cannot be reproduced from the recorded steps
+        public StatementPlan plan(Supplier<?> result) {
+            Integer step = produced.get(result);
+            if (!replayable || step == null) return null;
+            return new StatementPlan(steps.toArray(new Step[0]), step, statement, index, names);
+        }
+
+        /// Returns a plan of the recorded steps that produces the supplier fetched last with
+        /// [FunctionParser#FUNCTION_FETCHER].
+        /// @return The plan, or `null` if nothing was fetched or the fetched supplier cannot be reproduced
+        StatementPlan plan() {
+            return fetched == null ? null : plan(fetched);
+        }
+
+        /// Returns the names of the variables read by the recorded steps.
+        /// @return The names, in the order they were first read
+        Set<String> reads() {
+            Set<String> reads = new LinkedHashSet<>();
+            for (Step step : steps) {
+                if (step instanceof Step.Read read) reads.add(read.name());
+            }
+            return reads;
+        }
+
+        /// Stops recording.
+        public void close() {
+            if (previous == null) RECORDING.remove(); else RECORDING.set(previous);
+        }
+    }
+
+    private final Step[] steps;
+    private final int result;
+    private final String statement;
+    private final VariableIndex index;
+    /// The number of variable names that are known not to occur in the statement.
+    private volatile int names;
+
+    private StatementPlan(Step[] steps, int result, String statement, VariableIndex index, int names) {
+        this.steps = steps;
+        this.result = result;
+        this.statement = statement;
+        this.index = index;
+        this.names = names;
+    }
+
+    /// Starts recording the functions applied by [`FunctionParsers`](FunctionParser) on the current thread.
+    /// @param statement The text of the statement that is parsed while recording
+    /// @return The recorder, which stops recording when closed
+    public static Recorder record(CharSequence statement) {
+        Recorder recorder = new Recorder(RECORDING.get(), statement.toString());
+        RECORDING.set(recorder);
+        return recorder;
+    }
+
+    /// Returns the recorder of the current thread.
+    /// @return The recorder, or `null` if nothing is being recorded
+    static Recorder recorder() {
+        return RECORDING.get();
+    }
+
+    /// Returns if the plan can be executed in the current [EvaluationContext]: the context has the variables of
+    /// the context it was recorded in, and none of the variable names assigned since occur in the statement.
+    /// @return If the plan is current
+    public boolean isCurrent() {
+        VariableIndex current = EvaluationContext.current().index();
+        if (current != index) return false;
+        int known = names;
+        int n = current.names();
+        for (int i = known; i < n; i++) {
+            if (statement.contains(current.name(i))) return false;
+        }
+        if (n != known) names = n;
+        return true;
+    }
+
+    /// Executes the plan in the current [EvaluationContext], without parsing or registering any suppliers.
+    /// @return The supplier produced by the statement
+    /// @throws IllegalStateException If the plan reads a variable that is not assigned in the current context
+    public Supplier<?> execute() {
+        EvaluationContext context = EvaluationContext.current();
+        Supplier<?>[] results = new Supplier<?>[result + 1];
+        for (int i = 0; i <= result; i++) {
+            results[i] = switch (steps[i]) {
+                case Step.Read read -> {
+                    FunctionParser<?> parser = context.assignment(read.name());
+                    if (parser == null) throw new IllegalStateException("Variable " + read.name() + " is not assigned");
+                    yield parser.apply(Arguments.NONE);
+                }
+                case Step.Call call -> {
+                    Object[] values = new Object[call.names().length];
+                    for (int j = 0; j < values.length; j++) {
+                        int reference = call.references()[j];
+                        values[j] = reference == -1 ? call.values()[j] : Arguments.supply(results[reference]);
+                    }
+                    yield call.function().apply(new Arguments(call.names(), values));
+                }
+            };
+        }
+        return results[result];
+    }
+
+    /// Returns the number of steps of the plan.
+    /// @return The number of steps
+    public int steps() {
+        return result + 1;
+    }
+}
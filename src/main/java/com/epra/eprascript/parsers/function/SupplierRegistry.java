@@ -0,0 +1,269 @@
+package com.epra.eprascript.parsers.function;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+/// A bounded registry of [`Suppliers`](Supplier) addressed by compact sequential handles.
+///
+/// Registering a supplier gives it the next handle and an address of the form `§h§`, where `h` is the handle
+/// in base 36 (digits and lowercase letters). Resolving an address is an array lookup.
+///
+/// Entries are released in scopes: [SupplierRegistry#openScope()] marks the current handle, and closing the scope
+/// releases every supplier registered since, so their handles can be reused. Addresses of released suppliers
+/// must not be resolved again.
+///
+/// Suppliers registered outside of any scope are never released explicitly. Instead, handles wrap around once the
+/// registry is full, and registering replaces the oldest supplier that is not in an open scope. An address
+/// registered outside of a scope must not be resolved after half of [`capacity`](SupplierRegistry#capacity())
+/// more suppliers have been registered. Only scopes that hold `capacity` suppliers together make the registry full.
+///
+/// Scopes nest, and must be closed in the reverse order they were opened, by the thread that opened them.
+/// While a scope is open, the registry belongs to that thread: registering, opening a scope or releasing from
+/// another thread throws an [IllegalStateException], rather than releasing handles that the other thread still
+/// uses. Closing a scope before the scopes opened inside it throws too.
+///
+/// A supplier can also be [shared](SupplierRegistry#share(Object, Supplier)) under a key, such as the function
+/// and values it was made from, so that making the same supplier again can reuse it until it is released.
+/// Sharing is forgotten every time another half of `capacity` suppliers has been registered, so a shared supplier
+/// is never reused after the suppliers its key refers to may have been replaced.
+///
+/// Not thread-safe: a registry is used by one thread at a time, so threads that evaluate at once must each use
+/// their own [EvaluationContext]. Misuse that would release another thread's handles fails loudly, as above.
+/// @author Striker-909
+/// @since v0.3.0
+public class SupplierRegistry {
+
+    /// A [Supplier] that has been registered in a [SupplierRegistry], and knows its address.
+    ///
+    /// The `toString` of a registered supplier is its address.
+    /// @param <T> The type of the supplied value
+    public static final class Registered<T> implements Supplier<T> {
+        private final Supplier<T> supplier;
+        private final int handle;
+        /// The number of suppliers registered before this one, counting replaced and released ones.
+        private final long position;
+        private final String address;
+        /// The key the supplier is shared under, or `null` if it is not shared.
+        private Object key;
+
+        private Registered(Supplier<T> supplier, int handle, long position) {
+            this.supplier = supplier;
+            this.handle = handle;
+            this.position = position;
+            this.address = "§" + Integer.toString(handle, 36) + "§";
+        }
+
+        public T get() {
+            return supplier.get();
+        }
+
+        /// Returns the supplier that was registered.
+        Supplier<T> supplier() {
+            return supplier;
+        }
+
+        /// Returns the handle of the supplier.
+        /// @return The handle
+        public int handle() {
+            return handle;
+        }
+
+        /// Returns the address of the supplier.
+        /// @return The address
+        public String address() {
+            return address;
+        }
+
+        public String toString() {
+            return address;
+        }
+    }
+
+    /// A scope of registrations, released when the scope is closed.
+    public final class Scope implements AutoCloseable {
+        private final long mark;
+        /// The number of scopes that were open when this scope was opened.
+        private final int depth;
+        private boolean closed;
+
+        private Scope(long mark, int depth) {
+            this.mark = mark;
+            this.depth = depth;
+        }
+
+        /// Releases every supplier registered since this scope was opened. Closing a closed scope does nothing.
+        /// @throws IllegalStateException If a scope opened inside this scope is still open, or the scope
+        ///                               was opened by another thread
+        public void close() {
+            closeScope(this);
+        }
+    }
+
+    /// A RegEx expression matching an address.
+    public static final String ADDRESS_REGEX = "§[\\da-z]+§";
+
+    private final int capacity;
+    /// The registered suppliers, with the supplier at position `p` at index `p % capacity`.
+    private Registered<?>[] entries = new Registered<?>[64];
+    /// The number of registered suppliers.
+    private int size;
+    /// The position of the next supplier to register.
+    private long next;
+    private final HashMap<Object, Registered<?>> shared = new HashMap<>();
+    /// The marks of the open scopes, innermost last.
+    private long[] scopes = new long[8];
+    private int depth;
+    /// The thread that opened the outermost open scope, or `null` if no scope is open.
+    private Thread owner;
+
+    /// A bounded registry of [`Suppliers`](Supplier) addressed by compact sequential handles.
+    /// @param capacity The maximum number of suppliers registered at once
+    public SupplierRegistry(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Registry capacity must be positive: " + capacity);
+        this.capacity = capacity;
+    }
+
+    /// Registers a [Supplier] at the next handle, replacing the oldest supplier that is not in an open scope
+    /// if the handles have wrapped around.
+    ///
+    /// A supplier that is already registered in this registry is returned as it is.
+    /// @param supplier The supplier to register
+    /// @return The registered supplier
+    /// @throws IllegalStateException If the open scopes hold `capacity` suppliers, or another thread has a scope open
+    public synchronized <T> Registered<T> register(Supplier<T> supplier) {
+        checkOwner();
+        if (supplier instanceof Registered<T> r && r.handle < entries.length && entries[r.handle] == r) return r;
+        if (depth > 0 && next - scopes[0] == capacity) {
+            throw new IllegalStateException("Supplier registry is full (" + capacity + " suppliers in open scopes)");
+        }
+        if (next != 0 && next % Math.max(1, capacity / 2) == 0) forgetShared();
+        int handle = (int) (next % capacity);
+        if (handle >= entries.length) entries = Arrays.copyOf(entries, Math.min(capacity, Math.max(handle + 1, entries.length * 2)));
+        Registered<?> replaced = entries[handle];
+        if (replaced == null) size++;
+        else if (replaced.key != null) shared.remove(replaced.key);
+        Registered<T> registered = new Registered<>(supplier, handle, next++);
+        entries[handle] = registered;
+        return registered;
+    }
+
+    /// Registers a [Supplier] at the next free handle and shares it under a key until it is released.
+    /// @param key The key, which must have value-based `equals` and `hashCode`
+    /// @param supplier The supplier to register
+    /// @return The registered supplier
+    /// @throws IllegalStateException If the registry is full, or another thread has a scope open
+    public synchronized <T> Registered<T> share(Object key, Supplier<T> supplier) {
+        Registered<T> registered = register(supplier);
+        Registered<?> previous = shared.put(key, registered);
+        if (previous != null && previous != registered) previous.key = null;
+        registered.key = key;
+        return registered;
+    }
+
+    /// Returns the supplier shared under a key.
+    /// @param key The key
+    /// @return The supplier, or `null` if no registered supplier is shared under the key
+    public synchronized Registered<?> shared(Object key) {
+        return shared.get(key);
+    }
+
+    /// Stops sharing every supplier, such as when they may depend on values that have changed.
+    /// The suppliers stay registered.
+    /// @throws IllegalStateException If another thread has a scope open
+    public synchronized void unshareAll() {
+        checkOwner();
+        forgetShared();
+    }
+
+    private void forgetShared() {
+        for (Registered<?> registered : shared.values()) registered.key = null;
+        shared.clear();
+    }
+
+    /// Returns the supplier registered at a handle.
+    /// @param handle The handle
+    /// @return The supplier, or `null` if no supplier is registered at the handle
+    public synchronized Supplier<?> resolve(int handle) {
+        if (handle < 0 || handle >= entries.length) return null;
+        return entries[handle];
+    }
+
+    /// Returns the supplier for an address, given as the base 36 handle between the two `§`.
+    /// @param s The sequence containing the address
+    /// @param start The start of the handle (inclusive)
+    /// @param end The end of the handle (exclusive)
+    /// @return The supplier, or `null` if no supplier is registered at the address
+    public Supplier<?> resolve(CharSequence s, int start, int end) {
+        // Handles are ints, which have at most 6 base 36 digits
+        if (end - start > 6) return null;
+        int handle = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(s.charAt(i), 36);
+            if (digit < 0) return null;
+            handle = handle * 36 + digit;
+        }
+        return resolve(handle);
+    }
+
+    /// Opens a scope that releases every supplier registered from now until it is closed.
+    /// @return The scope
+    /// @throws IllegalStateException If another thread has a scope open
+    public synchronized Scope openScope() {
+        checkOwner();
+        if (depth == 0) owner = Thread.currentThread();
+        if (depth == scopes.length) scopes = Arrays.copyOf(scopes, depth * 2);
+        scopes[depth] = next;
+        return new Scope(next, depth++);
+    }
+
+    private synchronized void closeScope(Scope scope) {
+        if (scope.closed) return;
+        checkOwner();
+        if (scope.depth != depth - 1) {
+            throw new IllegalStateException("Supplier scope closed before the scopes opened inside it");
+        }
+        scope.closed = true;
+        depth--;
+        if (depth == 0) owner = null;
+        release(scope.mark);
+    }
+
+    /// Throws if another thread has a scope open, since it may release the handles of this thread.
+    private void checkOwner() {
+        if (owner != null && owner != Thread.currentThread()) {
+            throw new IllegalStateException("Supplier registry is in use by " + owner.getName()
+                    + ", use a separate EvaluationContext for each thread");
+        }
+    }
+
+    /// Releases every supplier registered at or after a position, and registers the next supplier at that position.
+    /// @param mark The position of the first supplier to release
+    private void release(long mark) {
+        for (long p = mark; p < next; p++) {
+            int handle = (int) (p % capacity);
+            Registered<?> registered = entries[handle];
+            if (registered == null || registered.position != p) continue;
+            if (registered.key != null) shared.remove(registered.key);
+            entries[handle] = null;
+            size--;
+        }
+        next = mark;
+        // Every supplier is below next, so while next is small they are all at the start of the array
+        if (entries.length > 64 && next < entries.length / 4) {
+            entries = Arrays.copyOf(entries, Math.max(64, entries.length / 2));
+        }
+    }
+
+    /// Returns the number of registered suppliers.
+    /// @return The number of suppliers
+    public synchronized int size() {
+        return size;
+    }
+
+    /// Returns the maximum number of suppliers registered at once.
+    /// @return The capacity
+    public int capacity() {
+        return capacity;
+    }
+}
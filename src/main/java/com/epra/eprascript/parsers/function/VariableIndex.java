@@ -0,0 +1,90 @@
+package com.epra.eprascript.parsers.function;
+
+import java.util.Arrays;
+
+/// A trie of assigned variable names, for finding the longest variable name at a position in one pass.
+///
+/// The trie is persistent: assigning a variable copies only the nodes on the path to its name and then
+/// publishes the new root, so lookups never lock and always see a complete trie.
+/// @author Striker-909
+/// @since v0.3.0
+final class VariableIndex {
+    /// A variable name found in a sequence.
+    /// @param length The length of the name
+    /// @param parser The parser for the variable
+    record Match(int length, FunctionParser<?> parser) {}
+
+    /// A node of the trie, with its children sorted by label.
+    private record Node(char[] labels, Node[] children, FunctionParser<?> parser) {}
+
+    private static final Node EMPTY = new Node(new char[0], new Node[0], null);
+
+    private volatile Node root = EMPTY;
+    /// The variable names in the order they were added.
+    private volatile String[] added = new String[8];
+    private volatile int names;
+
+    /// Adds a variable, replacing the parser of a variable with the same name.
+    /// @param name The name of the variable
+    /// @param parser The parser for the variable
+    synchronized void put(String name, FunctionParser<?> parser) {
+        Match existing = longest(name, 0, name.length());
+        if (existing == null || existing.length() != name.length()) {
+            if (names == added.length) added = Arrays.copyOf(added, names * 2);
+            added[names] = name;
+            names++;
+        }
+        root = put(root, name, 0, parser);
+    }
+
+    /// Returns the number of variable names in the index, which only changes when a new name is added.
+    /// @return The number of names
+    int names() {
+        return names;
+    }
+
+    /// Returns a variable name by the order it was added in.
+    /// @param i The number of names added before it, less than [VariableIndex#names()]
+    /// @return The name
+    String name(int i) {
+        return added[i];
+    }
+
+    private static Node put(Node node, String name, int i, FunctionParser<?> parser) {
+        if (i == name.length()) return new Node(node.labels, node.children, parser);
+        char c = name.charAt(i);
+        int k = Arrays.binarySearch(node.labels, c);
+        if (k >= 0) {
+            Node[] children = node.children.clone();
+            children[k] = put(children[k], name, i + 1, parser);
+            return new Node(node.labels, children, node.parser);
+        }
+        k = -k - 1;
+        char[] labels = new char[node.labels.length + 1];
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.labels, 0, labels, 0, k);
+        System.arraycopy(node.children, 0, children, 0, k);
+        labels[k] = c;
+        children[k] = put(EMPTY, name, i + 1, parser);
+        System.arraycopy(node.labels, k, labels, k + 1, node.labels.length - k);
+        System.arraycopy(node.children, k, children, k + 1, node.children.length - k);
+        return new Node(labels, children, node.parser);
+    }
+
+    /// Finds the longest variable name starting at a position.
+    /// @param s The sequence to search
+    /// @param at The position the name must start at
+    /// @param to The end of the region to search (exclusive)
+    /// @return The longest name, or `null` if no variable name starts at the position
+    Match longest(CharSequence s, int at, int to) {
+        Node node = root;
+        Match longest = null;
+        for (int i = at; i < to; i++) {
+            int k = Arrays.binarySearch(node.labels, s.charAt(i));
+            if (k < 0) break;
+            node = node.children[k];
+            if (node.parser != null) longest = new Match(i + 1 - at, node.parser);
+        }
+        return longest;
+    }
+}
@@ -1,11 +1,19 @@
 package com.epra.eprascript.parsers.math;
 
+import com.epra.eprascript.parsers.function.Arguments;
 import com.epra.eprascript.parsers.function.FunctionParser;
+import com.epra.eprascript.parsers.function.SignatureDispatcher;
 import com.epra.eprascript.parsers.modifiers.Combinator;
-import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.primitive.DoubleValue;
 import com.epra.eprascript.parsers.Parser;
 
 /// A group of [Parsers](Parser) for parsing basic arithmetic functions.
+///
+/// The function parsers are [shared](FunctionParser#shared()), so a subexpression that appears several times in a
+/// statement, such as `(a*b+c)`, is only evaluated once.
+///
+/// Every function supplies a [DoubleValue], and reads its operands with [Arguments#getDouble(String)], so
+/// values pass from one function to the next as primitive `double`s and only the result of a statement is boxed.
 /// @author Striker-909
 /// @since v0.2.0
 public class ArithmeticParsers {
@@ -15,194 +23,164 @@ public class ArithmeticParsers {
     /// Signature: `x+y`
     ///
     /// Result: The sum of `x` and `y`
-    public static final FunctionParser<Double> ADDITION = new FunctionParser<>(
+    public static final FunctionParser<Double> ADDITION = FunctionParser.typed(
             "$val1$+$val2$",
             "-?\\d+(\\.\\d+)?",
-            new Parser<>(s -> {
-                Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                if (!token.success()) { return token; }
-                return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-            }),
+            FunctionParser.STANDARD_VARIABLE_NAME,
             inputs -> {
-                double val1 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val1")).value();
-                double val2 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val2")).value();
+                double val1 = inputs.getDouble("val1");
+                double val2 = inputs.getDouble("val2");
                 //System.out.println(val1 + " + " + val2 + " = " + (val1 + val2));
-                return () -> val1 + val2;
+                return new DoubleValue(val1 + val2);
             }
-    );
+    ).shared();
     /// A [`FunctionParser`](Parser#FunctionParser) for subtraction.
     ///
     /// Signature: `x-y`
     ///
     /// Result: The difference of `x` and `y`
-    public static final FunctionParser<Double> SUBTRACTION = new FunctionParser<>(
+    public static final FunctionParser<Double> SUBTRACTION = FunctionParser.typed(
             "$val1$-$val2$",
             "-?\\d+(\\.\\d+)?",
-            new Parser<>(s -> {
-                Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                if (!token.success()) { return token; }
-                return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-            }),
+            FunctionParser.STANDARD_VARIABLE_NAME,
             inputs -> {
-                double val1 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val1")).value();
-                double val2 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val2")).value();
+                double val1 = inputs.getDouble("val1");
+                double val2 = inputs.getDouble("val2");
                 //System.out.println(val1 + " - " + val2 + " = " + (val1 - val2));
-                return () -> val1 - val2;
+                return new DoubleValue(val1 - val2);
             }
-    );
+    ).shared();
     /// A [`FunctionParser`](Parser#FunctionParser) for multiplication.
     ///
     /// Signature: `x*y`
     ///
     /// Result: The product of `x` and `y`
-    public static final FunctionParser<Double> MULTIPLICATION = new FunctionParser<>(
+    public static final FunctionParser<Double> MULTIPLICATION = FunctionParser.typed(
             "$val1$*$val2$",
             "-?\\d+(\\.\\d+)?",
-            new Parser<>(s -> {
-                Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                if (!token.success()) { return token; }
-                return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-            }),
+            FunctionParser.STANDARD_VARIABLE_NAME,
             inputs -> {
-                double val1 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val1")).value();
-                double val2 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val2")).value();
+                double val1 = inputs.getDouble("val1");
+                double val2 = inputs.getDouble("val2");
                 //System.out.println(val1 + " * " + val2 + " = " + (val1 * val2));
-                return () -> val1 * val2;
+                return new DoubleValue(val1 * val2);
             }
-    );
+    ).shared();
 
     /// A [`FunctionParser`](Parser#FunctionParser) for division.
     ///
     /// Signature: `x/y`
     ///
     /// Result: The quotient of `x` and `y`
-    public static final FunctionParser<Double> DIVISION = new FunctionParser<>(
+    public static final FunctionParser<Double> DIVISION = FunctionParser.typed(
             "$val1$/$val2$",
             "-?\\d+(\\.\\d+)?",
-            new Parser<>(s -> {
-                Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                if (!token.success()) { return token; }
-                return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-            }),
+            FunctionParser.STANDARD_VARIABLE_NAME,
             inputs -> {
-                double val1 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val1")).value();
-                double val2 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val2")).value();
+                double val1 = inputs.getDouble("val1");
+                double val2 = inputs.getDouble("val2");
                 //System.out.println(val1 + " / " + val2 + " = " + (val1 / val2));
-                return () -> val1 / val2;
+                return new DoubleValue(val1 / val2);
             }
-    );
+    ).shared();
 
     /// A [`FunctionParser`](Parser#FunctionParser) for integer division.
     ///
     /// Signature: `x//y`
     ///
     /// Result: The quotient of `x` and `y` with the decimal component removed
-    public static final FunctionParser<Double> INTEGER_DIVISION = new FunctionParser<>(
+    public static final FunctionParser<Double> INTEGER_DIVISION = FunctionParser.typed(
             "$val1$//$val2$",
             "-?\\d+(\\.\\d+)?",
-            new Parser<>(s -> {
-                Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                if (!token.success()) { return token; }
-                return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-            }),
+            FunctionParser.STANDARD_VARIABLE_NAME,
             inputs -> {
-                double val1 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val1")).value();
-                double val2 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val2")).value();
+                double val1 = inputs.getDouble("val1");
+                double val2 = inputs.getDouble("val2");
                 //System.out.println(val1 + " // " + val2 + " = " + (double)(int)(val1 / val2));
-                return () -> (double)(int)(val1 / val2);
+                return new DoubleValue(Operator.INTEGER_DIVISION.apply(val1, val2));
             }
-    );
+    ).shared();
 
     /// A [`FunctionParser`](Parser#FunctionParser) for modular division.
     ///
     /// Signature: `x%y`
     ///
     /// Result: The result of `x` mod `y`
-    public static final FunctionParser<Double> MODULUS = new FunctionParser<>(
+    public static final FunctionParser<Double> MODULUS = FunctionParser.typed(
             "$val1$%$val2$",
             "-?\\d+(\\.\\d+)?",
-            new Parser<>(s -> {
-                Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                if (!token.success()) { return token; }
-                return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-            }),
+            FunctionParser.STANDARD_VARIABLE_NAME,
             inputs -> {
-                double val1 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val1")).value();
-                double val2 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val2")).value();
+                double val1 = inputs.getDouble("val1");
+                double val2 = inputs.getDouble("val2");
                 //System.out.println(val1 + " % " + val2 + " = " + (val1 % val2));
-                return () -> val1 % val2;
+                return new DoubleValue(val1 % val2);
             }
-    );
+    ).shared();
 
     /// A [`FunctionParser`](Parser#FunctionParser) for exponentiation.
     ///
     /// Signature: `x^y`
     ///
     /// Result: `x` raised to the `y`
-    public static final FunctionParser<Double> EXPONENT = new FunctionParser<>(
+    public static final FunctionParser<Double> EXPONENT = FunctionParser.typed(
             "$val1$^$val2$",
             "-?\\d+(\\.\\d+)?",
-            new Parser<>(s -> {
-                Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                if (!token.success()) { return token; }
-                return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-            }),
+            FunctionParser.STANDARD_VARIABLE_NAME,
             inputs -> {
-                double val1 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val1")).value();
-                double val2 = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val2")).value();
+                double val1 = inputs.getDouble("val1");
+                double val2 = inputs.getDouble("val2");
                 //System.out.println(val1 + " ^ " + val2 + " = " + Math.pow(val1, val2));
-                return () -> Math.pow(val1, val2);
+                return new DoubleValue(Math.pow(val1, val2));
             }
-    );
+    ).shared();
 
     /// A [`FunctionParser`](Parser#FunctionParser) for absolute value.
     ///
     /// Signature: `|x|`
     ///
     /// Result: The absolute value of `x`
-    public static final FunctionParser<Double> ABSOLUTE = new FunctionParser<>(
+    public static final FunctionParser<Double> ABSOLUTE = FunctionParser.typed(
             "|$val$|",
             "-?\\d+(\\.\\d+)?",
-            new Parser<>(s -> {
-                Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                if (!token.success()) { return token; }
-                return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-            }),
+            FunctionParser.STANDARD_VARIABLE_NAME,
             inputs -> {
-                double val = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val")).value();
+                double val = inputs.getDouble("val");
                 //System.out.println("|" + val + "| = " + Math.abs(val));
-                return () -> Math.abs(val);
+                return new DoubleValue(Math.abs(val));
             }
-    );
+    ).shared();
 
     /// A [`FunctionParser`](Parser#FunctionParser) for parentheses.
     ///
     /// Signature: `(x)`
     ///
     /// Result: The value of `x`
-    public static final FunctionParser<Double> PARENTHESES = new FunctionParser<>(
+    public static final FunctionParser<Double> PARENTHESES = FunctionParser.typed(
             "($val$)",
             "-?\\d+(\\.\\d+)?",
-            new Parser<>(s -> {
-                Token<String> token = FunctionParser.STANDARD_VARIABLE_REGEX.parse(s);
-                if (!token.success()) { return token; }
-                return new Token<>(token.value().substring(2, token.value().length() - 2), token.head(), token.follow(), true);
-            }),
+            FunctionParser.STANDARD_VARIABLE_NAME,
             inputs -> {
-                double val = NumberParsers.DOUBLE_PARSER.parse(inputs.get("val")).value();
+                double val = inputs.getDouble("val");
                 //System.out.println("(" + val + ") = " + val);
-                return () -> val;
+                return new DoubleValue(val);
             }
-    );
+    ).shared();
 
     /// A [Parser] for addition and subtraction.
-    public final static Parser<?> ADDITION_SUBTRACTION = Combinator.OR.combine(
+    ///
+    /// Dispatches between the signatures with a [SignatureDispatcher], which gives the same result
+    /// as combining them with [Combinator#OR].
+    public final static Parser<?> ADDITION_SUBTRACTION = new SignatureDispatcher(
             ADDITION,
             SUBTRACTION
     );
 
     /// A [Parser] for multiplication, division, integer division, and modular division.
-    public final static Parser<?> MULTIPLICATION_DIVISION = Combinator.OR.combine(
+    ///
+    /// Dispatches between the signatures with a [SignatureDispatcher], which gives the same result
+    /// as combining them with [Combinator#OR].
+    public final static Parser<?> MULTIPLICATION_DIVISION = new SignatureDispatcher(
             MULTIPLICATION,
             DIVISION,
             INTEGER_DIVISION,
@@ -217,4 +195,10 @@ public class ArithmeticParsers {
             MULTIPLICATION_DIVISION,
             ADDITION_SUBTRACTION
     );
+
+    /// A [Parser] for all arithmetic expressions that parses the whole expression into an [Expression] tree
+    /// in a single pass, instead of reducing it one function at a time like [ArithmeticParsers#ARITHMETIC].
+    ///
+    /// Uses the same operations and precedence as [ArithmeticParsers#ARITHMETIC].
+    public final static ExpressionParser EXPRESSION = new ExpressionParser();
 }
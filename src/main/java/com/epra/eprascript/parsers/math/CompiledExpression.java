@@ -0,0 +1,72 @@
+package com.epra.eprascript.parsers.math;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/// An [Expression] compiled by [ExpressionCompiler] into a [MethodHandle] with the type `(double[])double`.
+///
+/// Variables are read from an array, in the order given by [CompiledExpression#variables()].
+/// Compiled expressions are immutable and can be evaluated from any number of threads at once.
+/// @author Striker-909
+/// @since v0.3.0
+public final class CompiledExpression {
+    private final Expression expression;
+    private final MethodHandle handle;
+    private final List<String> variables;
+
+    CompiledExpression(Expression expression, MethodHandle handle, List<String> variables) {
+        this.expression = expression;
+        this.handle = handle;
+        this.variables = List.copyOf(variables);
+    }
+
+    /// Evaluates the expression.
+    /// @param vars The values of the variables, in the order of [CompiledExpression#variables()]
+    /// @return The value of the expression
+    public double eval(double[] vars) {
+        try {
+            return (double) handle.invokeExact(vars);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /// Evaluates the expression, resolving variables by name.
+    /// @param variables A function from variable names to their values
+    /// @return The value of the expression
+    public double eval(ToDoubleFunction<String> variables) {
+        double[] vars = new double[this.variables.size()];
+        for (int i = 0; i < vars.length; i++) {
+            vars[i] = variables.applyAsDouble(this.variables.get(i));
+        }
+        return eval(vars);
+    }
+
+    /// Returns the names of the variables of the expression, in the order they are read from the array.
+    /// @return The variable names
+    public List<String> variables() {
+        return variables;
+    }
+
+    /// Returns the index of a variable in the array passed to [CompiledExpression#eval(double[])].
+    /// @param name The name of the variable
+    /// @return The index of the variable, or `-1` if the expression does not use it
+    public int indexOf(String name) {
+        return variables.indexOf(name);
+    }
+
+    /// Returns the expression tree this was compiled from.
+    /// @return The expression
+    public Expression expression() {
+        return expression;
+    }
+
+    /// Returns the compiled [MethodHandle], with the type `(double[])double`.
+    /// @return The method handle
+    public MethodHandle handle() {
+        return handle;
+    }
+}
@@ -0,0 +1,81 @@
+package com.epra.eprascript.parsers.math;
+
+import java.util.function.ToDoubleFunction;
+
+/// A parsed arithmetic expression tree, produced by [ExpressionParser].
+///
+/// Evaluating an expression walks the tree once, with no string rewriting.
+/// @author Striker-909
+/// @since v0.3.0
+public sealed interface Expression {
+
+    /// Evaluates the expression, resolving variables by name.
+    /// @param variables A function from variable names to their values
+    /// @return The value of the expression
+    double evaluate(ToDoubleFunction<String> variables);
+
+    /// Evaluates an expression that has no variables.
+    /// @return The value of the expression
+    /// @throws IllegalStateException If the expression has a variable
+    default double evaluate() {
+        return evaluate(name -> {
+            throw new IllegalStateException("Variable " + name + " has no value");
+        });
+    }
+
+    /// A number.
+    /// @param value The value of the number
+    record Literal(double value) implements Expression {
+        public double evaluate(ToDoubleFunction<String> variables) {
+            return value;
+        }
+    }
+
+    /// A variable, resolved by name when the expression is evaluated.
+    /// @param name The name of the variable
+    record Variable(String name) implements Expression {
+        public double evaluate(ToDoubleFunction<String> variables) {
+            return variables.applyAsDouble(name);
+        }
+    }
+
+    /// The negation of an expression. Signature: `-(x)`
+    /// @param operand The negated expression
+    record Negation(Expression operand) implements Expression {
+        public double evaluate(ToDoubleFunction<String> variables) {
+            return -operand.evaluate(variables);
+        }
+    }
+
+    /// The absolute value of an expression. Signature: `|x|`
+    /// @param operand The expression
+    record Absolute(Expression operand) implements Expression {
+        public double evaluate(ToDoubleFunction<String> variables) {
+            return Math.abs(operand.evaluate(variables));
+        }
+    }
+
+    /// A binary [Operator] applied to two expressions.
+    /// @param operator The operator
+    /// @param left The left expression
+    /// @param right The right expression
+    record Binary(Operator operator, Expression left, Expression right) implements Expression {
+        public double evaluate(ToDoubleFunction<String> variables) {
+            // Left-associative chains nest on the left, so walk that side with a loop instead of recursion
+            int depth = 0;
+            Expression e = this;
+            while (e instanceof Binary b) { depth++; e = b.left; }
+            Binary[] spine = new Binary[depth];
+            e = this;
+            for (int i = depth - 1; i >= 0; i--) {
+                spine[i] = (Binary) e;
+                e = spine[i].left;
+            }
+            double value = e.evaluate(variables);
+            for (Binary b : spine) {
+                value = b.operator.apply(value, b.right.evaluate(variables));
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.epra.eprascript.parsers.math;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// Compiles [`Expressions`](Expression) into [`CompiledExpressions`](CompiledExpression) for repeated evaluation.
+///
+/// Each node of the expression tree becomes a [MethodHandle] combinator, so evaluating a compiled expression
+/// does not walk the tree, and the JIT can inline the whole formula. Expressions compiled from text are cached
+/// by that text.
+///
+/// Thread-safe.
+/// @author Striker-909
+/// @since v0.3.0
+public class ExpressionCompiler {
+    /// The type of every compiled handle: `(double[])double`.
+    private static final MethodType EVAL_TYPE = MethodType.methodType(double.class, double[].class);
+    private static final MethodType BINARY_TYPE = MethodType.methodType(double.class, double.class, double.class);
+    private static final MethodType UNARY_TYPE = MethodType.methodType(double.class, double.class);
+    private static final MethodHandle ELEMENT = MethodHandles.arrayElementGetter(double[].class);
+    private static final MethodHandle NEGATE;
+    private static final MethodHandle ABSOLUTE;
+    private static final MethodHandle[] OPERATORS = new MethodHandle[Operator.values().length];
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            NEGATE = lookup.findStatic(ExpressionCompiler.class, "negate", UNARY_TYPE);
+            ABSOLUTE = lookup.findStatic(Math.class, "abs", UNARY_TYPE);
+            // Bound to each operator, so the rules of every operator are only written in Operator#apply
+            MethodHandle apply = lookup.findVirtual(Operator.class, "apply", BINARY_TYPE);
+            for (Operator operator : Operator.values()) OPERATORS[operator.ordinal()] = apply.bindTo(operator);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ExpressionParser parser;
+    private final int capacity;
+    private final ConcurrentHashMap<String, CompiledExpression> cache = new ConcurrentHashMap<>();
+
+    /// Compiles [`Expressions`](Expression) into [`CompiledExpressions`](CompiledExpression) for repeated evaluation.
+    /// @param parser The parser for expressions compiled from text
+    /// @param capacity The maximum number of cached expressions. Once full, new expressions are compiled
+    ///                 but not cached.
+    public ExpressionCompiler(ExpressionParser parser, int capacity) {
+        this.parser = parser;
+        this.capacity = capacity;
+    }
+
+    /// Compiles [`Expressions`](Expression) into [`CompiledExpressions`](CompiledExpression) for repeated evaluation,
+    /// caching up to `1024` expressions.
+    public ExpressionCompiler() {
+        this(new ExpressionParser(), 1024);
+    }
+
+    /// Parses and compiles an expression, or returns the cached compiled expression for the same text.
+    /// @param expression The text of the expression
+    /// @return The compiled expression
+    /// @throws IllegalArgumentException If the text is not a single valid expression
+    public CompiledExpression compile(String expression) {
+        CompiledExpression compiled = cache.get(expression);
+        if (compiled != null) return compiled;
+        compiled = compile(parser.parseWhole(expression));
+        if (cache.size() < capacity) {
+            CompiledExpression previous = cache.putIfAbsent(expression, compiled);
+            if (previous != null) return previous;
+        }
+        return compiled;
+    }
+
+    /// Compiles an expression tree. Compiling does not use the cache.
+    /// @param expression The expression tree
+    /// @return The compiled expression
+    public CompiledExpression compile(Expression expression) {
+        List<String> variables = new ArrayList<>();
+        return new CompiledExpression(expression, handle(expression, variables), variables);
+    }
+
+    /// Returns the number of cached expressions.
+    /// @return The size of the cache
+    public int size() {
+        return cache.size();
+    }
+
+    /// Removes all cached expressions.
+    public void clear() {
+        cache.clear();
+    }
+
+    /// Builds the `(double[])double` handle for an expression, adding new variables to the list.
+    private static MethodHandle handle(Expression expression, List<String> variables) {
+        return switch (expression) {
+            case Expression.Literal l -> MethodHandles.dropArguments(
+                    MethodHandles.constant(double.class, l.value()), 0, double[].class);
+            case Expression.Variable v -> {
+                int index = variables.indexOf(v.name());
+                if (index == -1) {
+                    index = variables.size();
+                    variables.add(v.name());
+                }
+                yield MethodHandles.insertArguments(ELEMENT, 1, index);
+            }
+            case Expression.Negation n -> MethodHandles.filterReturnValue(handle(n.operand(), variables), NEGATE);
+            case Expression.Absolute a -> MethodHandles.filterReturnValue(handle(a.operand(), variables), ABSOLUTE);
+            case Expression.Binary b -> {
+                MethodHandle left = handle(b.left(), variables);
+                MethodHandle right = handle(b.right(), variables);
+                MethodHandle both = MethodHandles.filterArguments(OPERATORS[b.operator().ordinal()], 0, left, right);
+                // (double[], double[])double -> (double[])double, passing the same array to both sides
+                yield MethodHandles.permuteArguments(both, EVAL_TYPE, 0, 0);
+            }
+        };
+    }
+
+    private static double negate(double x) {
+        return -x;
+    }
+}
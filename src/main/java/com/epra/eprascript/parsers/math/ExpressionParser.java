@@ -0,0 +1,141 @@
+package com.epra.eprascript.parsers.math;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Token;
+
+import java.util.function.ToDoubleFunction;
+
+/// A [Parser] that parses an arithmetic expression into an [Expression] tree in a single pass.
+///
+/// Supports the same operations as [ArithmeticParsers#ARITHMETIC] with the same precedence:
+/// parentheses `(x)`, absolute value `|x|`, then `^`, then `*`, `/`, `//` and `%`, then `+` and `-`.
+/// Operators of the same precedence are applied from left to right. A `-` directly before a number is
+/// part of that number, and a `-` before `(`, `|` or a variable negates it. Variables are names made of
+/// letters, digits and underscores that do not start with a digit. Whitespace between terms is skipped.
+///
+/// Unlike [ArithmeticParsers#ARITHMETIC], a `-` after an operand is always subtraction: `2-3*4` is `-10`, where
+/// [ArithmeticParsers#ARITHMETIC] reads `-3` as a number and gives `-12`.
+///
+/// Uses precedence climbing, so parsing is linear in the length of the expression.
+///
+/// The parser succeeds if an expression starts at the beginning of the region (after any whitespace).
+/// The `follow` of the token is whatever could not be parsed as part of the expression.
+/// @author Striker-909
+/// @since v0.3.0
+public class ExpressionParser extends Parser<Expression> {
+
+    /// A [Parser] that parses an arithmetic expression into an [Expression] tree in a single pass.
+    public ExpressionParser() {
+        super((s, from, to) -> {
+            Cursor cursor = new Cursor(s, from, to);
+            cursor.skipWhitespace();
+            int start = cursor.i;
+            Expression expression = cursor.expression(0);
+            if (expression == null) { return Token.failure(s, from, to); }
+            return new Token<>(expression, s, from, start, cursor.i, to, true);
+        });
+    }
+
+    /// Parses and evaluates an arithmetic expression that makes up the whole input.
+    /// @param input The expression
+    /// @param variables A function from variable names to their values
+    /// @return The value of the expression
+    /// @throws IllegalArgumentException If the input is not a single valid expression
+    public double evaluate(CharSequence input, ToDoubleFunction<String> variables) {
+        return parseWhole(input).evaluate(variables);
+    }
+
+    /// Parses an arithmetic expression that makes up the whole input.
+    /// @param input The expression
+    /// @return The expression tree
+    /// @throws IllegalArgumentException If the input is not a single valid expression
+    public Expression parseWhole(CharSequence input) {
+        Token<Expression> token = parse(input);
+        int end = token.end();
+        while (end < input.length() && Character.isWhitespace(input.charAt(end))) end++;
+        if (!token.success() || end != input.length()) {
+            throw new IllegalArgumentException("Invalid expression at index " + (token.success() ? end : 0) + ": " + input);
+        }
+        return token.value();
+    }
+
+    /// The position of a parse in the input.
+    private static final class Cursor {
+        private final CharSequence s;
+        private final int to;
+        private final NumberScanner scanner = new NumberScanner(true, false);
+        private int i;
+
+        private Cursor(CharSequence s, int from, int to) {
+            this.s = s;
+            this.i = from;
+            this.to = to;
+        }
+
+        /// Parses operators with at least the given precedence, or returns `null` without moving.
+        private Expression expression(int precedence) {
+            Expression left = term();
+            if (left == null) return null;
+            while (true) {
+                int before = i;
+                skipWhitespace();
+                Operator operator = Operator.at(s, i, to);
+                if (operator == null || operator.precedence() < precedence) {
+                    i = before;
+                    return left;
+                }
+                i += operator.symbol().length();
+                Expression right = expression(operator.precedence() + 1);
+                if (right == null) {
+                    i = before;
+                    return left;
+                }
+                left = new Expression.Binary(operator, left, right);
+            }
+        }
+
+        /// Parses a number, variable, negation, absolute value or parenthesized expression,
+        /// or returns `null` without moving.
+        private Expression term() {
+            int before = i;
+            skipWhitespace();
+            if (i >= to) { i = before; return null; }
+            char c = s.charAt(i);
+            if (isDigit(c) || (c == '-' && i + 1 < to && isDigit(s.charAt(i + 1)))) {
+                scanner.scan(s, i, to);
+                i = scanner.end();
+                return new Expression.Literal(scanner.doubleValue());
+            }
+            if (c == '-') {
+                i++;
+                Expression operand = term();
+                if (operand == null) { i = before; return null; }
+                return new Expression.Negation(operand);
+            }
+            if (c == '(' || c == '|') {
+                char close = c == '(' ? ')' : '|';
+                i++;
+                Expression inner = expression(0);
+                skipWhitespace();
+                if (inner == null || i >= to || s.charAt(i) != close) { i = before; return null; }
+                i++;
+                return c == '(' ? inner : new Expression.Absolute(inner);
+            }
+            if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < to && (Character.isLetterOrDigit(s.charAt(i)) || s.charAt(i) == '_')) i++;
+                return new Expression.Variable(s.subSequence(start, i).toString());
+            }
+            i = before;
+            return null;
+        }
+
+        private void skipWhitespace() {
+            while (i < to && Character.isWhitespace(s.charAt(i))) i++;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+}
@@ -5,6 +5,12 @@ import com.epra.eprascript.parsers.modifiers.Combinator;
 import com.epra.eprascript.parsers.modifiers.Map;
 import com.epra.eprascript.parsers.Token;
 import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.primitive.DoubleParser;
+import com.epra.eprascript.parsers.primitive.DoubleToken;
+import com.epra.eprascript.parsers.primitive.IntParser;
+import com.epra.eprascript.parsers.primitive.IntToken;
+import com.epra.eprascript.parsers.primitive.LongParser;
+import com.epra.eprascript.parsers.primitive.LongToken;
 
 import java.util.ArrayList;
 
@@ -15,22 +21,22 @@ public class NumberParsers {
 
     /// A [Map] from a [Character] [Parser] to an [Integer] [Parser].
     public static final Map<Character, Integer> DIGIT_MAP = new Map<>(
-            (charParser) -> new Parser<>( s ->
+            (charParser) -> new Parser<>( (s, from, to) ->
             {
-                Token<Character> token = charParser.parse(s);
-                if (!token.success()) { return new Token<>(-1, token.head(), token.follow(), false); }
+                Token<Character> token = charParser.parse(s, from, to);
+                if (!token.success()) { return token.withValue(-1); }
                 return switch (token.value()) {
-                    case '0' -> new Token<>(0, token.head(), token.follow(), true);
-                    case '1' -> new Token<>(1, token.head(), token.follow(), true);
-                    case '2' -> new Token<>(2, token.head(), token.follow(), true);
-                    case '3' -> new Token<>(3, token.head(), token.follow(), true);
-                    case '4' -> new Token<>(4, token.head(), token.follow(), true);
-                    case '5' -> new Token<>(5, token.head(), token.follow(), true);
-                    case '6' -> new Token<>(6, token.head(), token.follow(), true);
-                    case '7' -> new Token<>(7, token.head(), token.follow(), true);
-                    case '8' -> new Token<>(8, token.head(), token.follow(), true);
-                    case '9' -> new Token<>(9, token.head(), token.follow(), true);
-                    default -> new Token<>(-1, token.head(), token.follow(), false);
+                    case '0' -> token.withValue(0);
+                    case '1' -> token.withValue(1);
+                    case '2' -> token.withValue(2);
+                    case '3' -> token.withValue(3);
+                    case '4' -> token.withValue(4);
+                    case '5' -> token.withValue(5);
+                    case '6' -> token.withValue(6);
+                    case '7' -> token.withValue(7);
+                    case '8' -> token.withValue(8);
+                    case '9' -> token.withValue(9);
+                    default -> new Token<>(-1, token.input(), token.from(), token.start(), token.end(), token.to(), false);
                 };
             }
             )
@@ -61,15 +67,15 @@ public class NumberParsers {
 
     /// A [Map] that maps an [ArrayList] of [`Integers`](Integer) to a natural [Number].
     public static final Map<ArrayList<Integer>, Number> NATURAL_MAP = new Map<>(
-            (parser) -> new Parser<>(s -> {
-                Token<ArrayList<Integer>> token = parser.parse(s);
-                if (!token.success()) { return new Token<>(-1, token.head(), token.follow(), false); }
+            (parser) -> new Parser<>((s, from, to) -> {
+                Token<ArrayList<Integer>> token = parser.parse(s, from, to);
+                if (!token.success()) { return token.withValue(-1); }
                 double total = 0.0;
                 for (int i : token.value()) {
                     total *= 10.0;
                     total += i;
                 }
-                return new Token<>(total, token.head(), token.follow(), true);
+                return token.withValue(total);
 
             })
     );
@@ -77,29 +83,33 @@ public class NumberParsers {
     /// as the nth digit after the decimal point.
     ///
     /// Ex. `[1, 2, 5, 3, 7]` -> `0.12537`
-    public static final Map<ArrayList<Integer>, Double> DECIMAL_MAP = new Map<>(
-            parser -> new Parser<Double>( s -> {
-                Token<ArrayList<Integer>> token = parser.parse(s);
-                if (!token.success()) { return new Token<>(-1.0, token.head(), token.follow(), false); }
+    public static final Map.ToDouble<ArrayList<Integer>> DECIMAL_MAP = new Map.ToDouble<>(
+            parser -> new DoubleParser( (s, from, to) -> {
+                Token<ArrayList<Integer>> token = parser.parse(s, from, to);
+                if (!token.success()) { return DoubleToken.of(token.withValue(-1.0)); }
                 double total = 0.0;
-                for (int i : token.value()) {
-                    total += i;
+                ArrayList<Integer> digits = token.value();
+                for (int i = digits.size() - 1; i >= 0; i--) {
+                    total += digits.get(i);
                     total /= 10.0;
                 }
-                return new Token<>(total, token.head(), token.follow(), true);
+                return new DoubleToken(total, token.input(), token.from(), token.start(), token.end(), token.to(), true);
             })
     );
 
+    /// A [Parser] that parses for continuous digit [`Characters`](Character) and converts them into
+    /// the decimal part of a [Double].
+    private static final DoubleParser DECIMAL_PARSER = DECIMAL_MAP.map(DIGIT_LIST_PARSER);
+
     /// A [Map] that maps an unsigned [Number] to a signed [Number].
     public static final Map<Number, Number> SIGN_MAP = new Map<>(
             (parser) -> new Parser<>(
-                    s -> {
-                        Token<Number> token = parser.parse(s);
-                        int l = token.head().length();
+                    (s, from, to) -> {
+                        Token<Number> token = parser.parse(s, from, to);
+                        int l = token.headLength();
                         if (!token.success() || l == 0) { return token; }
-                        CharParser minus = new CharParser('-');
-                        if (minus.parse(token.head().substring(l - 1, l)).success()) {
-                            return new Token<>((-1) * (Double) token.value(), token.head().substring(0, l - 1), token.follow(), true);
+                        if (token.input().charAt(token.start() - 1) == '-') {
+                            return new Token<>((-1) * (Double) token.value(), token.input(), token.from(), token.start() - 1, token.end(), token.to(), true);
                         }
                         return token;
                     }
@@ -107,33 +117,54 @@ public class NumberParsers {
     );
     /// A [Map] that maps a natural [Number] to a real [Number].
     public static final Map<Number, Number> REAL_MAP = new Map<>(
-            parser -> new Parser<>(s -> {
-                Token<Number> token = parser.parse(s);
-                int l = token.follow().length();
+            parser -> new Parser<>((s, from, to) -> {
+                Token<Number> token = parser.parse(s, from, to);
+                int l = token.followLength();
                 if (!token.success() || l == 0) { return token; }
-                CharParser dot = new CharParser('.');
-                if (!dot.parse(token.follow().substring(0, 1)).success()) { return token; }
-                Token<Double> decimal = DECIMAL_MAP.map(DIGIT_LIST_PARSER).parse(token.follow().substring(1));
+                if (token.input().charAt(token.end()) != '.') { return token; }
+                DoubleToken decimal = DECIMAL_PARSER.parseDouble(token.input(), token.end() + 1, token.to());
                 if (!decimal.success()) { return token; }
-                return new Token<>((double) token.value() + decimal.value(), token.head(), decimal.follow(), true);
+                return new Token<>((double) token.value() + decimal.value(), token.input(), token.from(), token.start(), decimal.end(), decimal.to(), true);
             })
     );
 
-    /// A [Map] that maps a [Number] to an [Integer].
-    private static final Map<Number, Integer> NUMBER_TO_INTEGER = new Map<>(parser -> new Parser<>(
-    s -> {
-        Token<Number> token = parser.parse(s);
-        return new Token<>((int) token.value(), token.head(), token.follow(), token.success());
-    }));
-    /// A [Map] that maps a [Number] to an [Double].
-    private static final Map<Number, Double> NUMBER_TO_DOUBLE = new Map<>(parser -> new Parser<>(
-            s -> {
-                Token<Number> token = parser.parse(s);
-                return new Token<>((double) token.value(), token.head(), token.follow(), token.success());
-            }));
     /// A [Parser] that parses a [String] for the first [Integer] in that [String].
-    public static final Parser<Integer> INTEGER_PARSER = NUMBER_TO_INTEGER.map(SIGN_MAP.map(NATURAL_MAP.map(DIGIT_LIST_PARSER)));
+    ///
+    /// Scans the input once with a [NumberScanner]. Matches the sections parsed by
+    /// `SIGN_MAP.map(NATURAL_MAP.map(DIGIT_LIST_PARSER))`.
+    public static final IntParser INTEGER_PARSER = new IntParser((s, from, to) -> {
+        NumberScanner scanner = new NumberScanner(false, false);
+        if (!scanner.scan(s, from, to)) { return IntToken.failure(s, from, to); }
+        return new IntToken(scanner.intValue(), s, from, scanner.start(), scanner.end(), to, true);
+    });
+
+    /// A [Parser] that parses a [String] for the first [Long] in that [String].
+    ///
+    /// Scans the input once with a [NumberScanner].
+    public static final LongParser LONG_PARSER = new LongParser((s, from, to) -> {
+        NumberScanner scanner = new NumberScanner(false, false);
+        if (!scanner.scan(s, from, to)) { return LongToken.failure(s, from, to); }
+        return new LongToken(scanner.longValue(), s, from, scanner.start(), scanner.end(), to, true);
+    });
 
     /// A [Parser] that parses a [String] for the first [Double] in that [String].
-    public static final Parser<Double> DOUBLE_PARSER = NUMBER_TO_DOUBLE.map(SIGN_MAP.map(REAL_MAP.map(NATURAL_MAP.map(DIGIT_LIST_PARSER))));
+    ///
+    /// Scans the input once with a [NumberScanner]. Matches the sections parsed by
+    /// `SIGN_MAP.map(REAL_MAP.map(NATURAL_MAP.map(DIGIT_LIST_PARSER)))`, except that the digits of the
+    /// fraction must directly follow the `.`.
+    public static final DoubleParser DOUBLE_PARSER = new DoubleParser((s, from, to) -> {
+        NumberScanner scanner = new NumberScanner(true, false);
+        if (!scanner.scan(s, from, to)) { return DoubleToken.failure(s, from, to); }
+        return new DoubleToken(scanner.doubleValue(), s, from, scanner.start(), scanner.end(), to, true);
+    });
+
+    /// A [Parser] that parses a [String] for the first [Double] in that [String], including an
+    /// exponent if there is one.
+    ///
+    /// Ex. `1.5e-3` -> `0.0015`
+    public static final DoubleParser SCIENTIFIC_PARSER = new DoubleParser((s, from, to) -> {
+        NumberScanner scanner = new NumberScanner(true, true);
+        if (!scanner.scan(s, from, to)) { return DoubleToken.failure(s, from, to); }
+        return new DoubleToken(scanner.doubleValue(), s, from, scanner.start(), scanner.end(), to, true);
+    });
 }
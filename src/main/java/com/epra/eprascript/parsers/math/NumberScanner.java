@@ -0,0 +1,143 @@
+package com.epra.eprascript.parsers.math;
+
+/// A single-pass scanner for the first number in a region of a [CharSequence].
+///
+/// Scanning follows the same rules as the [Maps](com.epra.eprascript.parsers.modifiers.Map) in [NumberParsers]:
+/// the number starts at the first digit in the region, a `-` directly before that digit makes it negative,
+/// and a `.` followed by digits adds a fraction. An exponent (`e` or `E`, an optional sign, and digits)
+/// can also be allowed.
+///
+/// Scanning does not allocate. The value is available as a primitive through [NumberScanner#doubleValue()],
+/// [NumberScanner#longValue()] and [NumberScanner#intValue()].
+///
+/// Not thread-safe. A scanner can be reused for any number of scans.
+/// @author Striker-909
+/// @since v0.3.0
+public final class NumberScanner {
+    /// Powers of ten that are exactly representable as a [Double].
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    /// The largest mantissa that can take another digit without overflowing.
+    private static final long MANTISSA_LIMIT = (Long.MAX_VALUE - 9) / 10;
+
+    private final boolean fraction;
+    private final boolean exponent;
+
+    private CharSequence input;
+    private boolean success;
+    private int start;
+    private int digits;
+    private int end;
+    private boolean negative;
+    private long mantissa;
+    private int exp10;
+    private boolean exact;
+
+    /// A single-pass scanner for the first number in a region of a [CharSequence].
+    /// @param fraction If a `.` followed by digits is part of the number
+    /// @param exponent If an exponent is part of the number
+    public NumberScanner(boolean fraction, boolean exponent) {
+        this.fraction = fraction;
+        this.exponent = exponent;
+    }
+
+    /// Scans a region of the input for the first number.
+    /// @param s The sequence to scan
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return If a number was found
+    public boolean scan(CharSequence s, int from, int to) {
+        input = s;
+        mantissa = 0;
+        exp10 = 0;
+        exact = true;
+        int i = from;
+        while (i < to && !isDigit(s.charAt(i))) i++;
+        if (i == to) {
+            success = false;
+            negative = false;
+            start = digits = end = from;
+            return false;
+        }
+        negative = i > from && s.charAt(i - 1) == '-';
+        start = negative ? i - 1 : i;
+        digits = i;
+        for (; i < to && isDigit(s.charAt(i)); i++) {
+            if (mantissa <= MANTISSA_LIMIT) mantissa = mantissa * 10 + (s.charAt(i) - '0');
+            else { exact = false; exp10++; }
+        }
+        if (fraction && i + 1 < to && s.charAt(i) == '.' && isDigit(s.charAt(i + 1))) {
+            for (i++; i < to && isDigit(s.charAt(i)); i++) {
+                if (mantissa <= MANTISSA_LIMIT) { mantissa = mantissa * 10 + (s.charAt(i) - '0'); exp10--; }
+                else exact = false;
+            }
+        }
+        if (exponent && i < to && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            int j = i + 1;
+            boolean negativeExponent = j < to && s.charAt(j) == '-';
+            if (j < to && (s.charAt(j) == '-' || s.charAt(j) == '+')) j++;
+            if (j < to && isDigit(s.charAt(j))) {
+                int e = 0;
+                for (; j < to && isDigit(s.charAt(j)); j++) e = Math.min(e * 10 + (s.charAt(j) - '0'), 100_000);
+                exp10 += negativeExponent ? -e : e;
+                i = j;
+            }
+        }
+        end = i;
+        success = true;
+        return true;
+    }
+
+    /// Returns if the last scan found a number.
+    /// @return If the last scan was successful
+    public boolean success() {
+        return success;
+    }
+
+    /// Returns the start of the last scanned number, including its sign.
+    /// @return The start of the number (inclusive)
+    public int start() {
+        return start;
+    }
+
+    /// Returns the end of the last scanned number.
+    /// @return The end of the number (exclusive)
+    public int end() {
+        return end;
+    }
+
+    /// Returns the value of the last scanned number, or `-1` if the scan failed.
+    /// @return The value as a double
+    public double doubleValue() {
+        if (!success) return -1.0;
+        double value;
+        if (exact && mantissa < (1L << 53) && Math.abs(exp10) < POW10.length) {
+            // Both operands are exact, so one rounding gives the correctly rounded result
+            value = exp10 < 0 ? mantissa / POW10[-exp10] : mantissa * POW10[exp10];
+        } else {
+            value = Double.parseDouble(input.subSequence(digits, end).toString());
+        }
+        return negative ? -value : value;
+    }
+
+    /// Returns the value of the last scanned number with any fraction removed, or `-1` if the scan failed.
+    /// @return The value as a long
+    public long longValue() {
+        if (!success) return -1L;
+        if (exact && exp10 == 0) return negative ? -mantissa : mantissa;
+        return (long) doubleValue();
+    }
+
+    /// Returns the value of the last scanned number with any fraction removed, or `-1` if the scan failed.
+    /// @return The value as an int
+    public int intValue() {
+        if (!success) return -1;
+        return (int) doubleValue();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
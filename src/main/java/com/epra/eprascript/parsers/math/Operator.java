@@ -0,0 +1,81 @@
+package com.epra.eprascript.parsers.math;
+
+/// The binary operators of [ArithmeticParsers], with their symbols and precedence.
+///
+/// All operators are left-associative, matching the order in which [ArithmeticParsers#ARITHMETIC]
+/// reduces an expression.
+/// @author Striker-909
+/// @since v0.3.0
+public enum Operator {
+    /// Addition. Signature: `x+y`
+    ADDITION("+", 1),
+    /// Subtraction. Signature: `x-y`
+    SUBTRACTION("-", 1),
+    /// Multiplication. Signature: `x*y`
+    MULTIPLICATION("*", 2),
+    /// Division. Signature: `x/y`
+    DIVISION("/", 2),
+    /// Integer division. Signature: `x//y`
+    INTEGER_DIVISION("//", 2),
+    /// Modular division. Signature: `x%y`
+    MODULUS("%", 2),
+    /// Exponentiation. Signature: `x^y`
+    EXPONENT("^", 3);
+
+    private final String symbol;
+    private final int precedence;
+
+    Operator(String symbol, int precedence) {
+        this.symbol = symbol;
+        this.precedence = precedence;
+    }
+
+    /// Returns the symbol of the operator.
+    /// @return The symbol
+    public String symbol() {
+        return symbol;
+    }
+
+    /// Returns the precedence of the operator. Operators with a higher precedence are applied first.
+    /// @return The precedence
+    public int precedence() {
+        return precedence;
+    }
+
+    /// Applies the operator to two values, with the same result as the corresponding
+    /// [FunctionParser](com.epra.eprascript.parsers.function.FunctionParser) in [ArithmeticParsers].
+    /// @param x The left value
+    /// @param y The right value
+    /// @return The result
+    public double apply(double x, double y) {
+        return switch (this) {
+            case ADDITION -> x + y;
+            case SUBTRACTION -> x - y;
+            case MULTIPLICATION -> x * y;
+            case DIVISION -> x / y;
+            case INTEGER_DIVISION -> (double)(int)(x / y);
+            case MODULUS -> x % y;
+            case EXPONENT -> Math.pow(x, y);
+        };
+    }
+
+    /// Returns the operator at a position in the input, or `null` if there is none.
+    ///
+    /// `//` is matched before `/`.
+    /// @param s The input
+    /// @param i The position
+    /// @param to The end of the region (exclusive)
+    /// @return The operator at the position
+    public static Operator at(CharSequence s, int i, int to) {
+        if (i >= to) return null;
+        return switch (s.charAt(i)) {
+            case '+' -> ADDITION;
+            case '-' -> SUBTRACTION;
+            case '*' -> MULTIPLICATION;
+            case '/' -> (i + 1 < to && s.charAt(i + 1) == '/') ? INTEGER_DIVISION : DIVISION;
+            case '%' -> MODULUS;
+            case '^' -> EXPONENT;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,235 @@
+package com.epra.eprascript.parsers.modifiers;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Token;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/// A [Parser] that combines any number of [`Parsers`](Parser) with one of the built-in [`Combinators`](Combinator).
+///
+/// Combining a combination with another parser using the same combinator flattens them into one combination,
+/// so `SEQUENCE.combine(a, b, c, d)` parses with a single loop over `a`, `b`, `c` and `d` instead of three nested
+/// parsers. Parsers that appear more than once are only kept once, since parsing them again cannot change the result.
+///
+/// Before parsing with a part, the region is checked for the [literal](Parser#literal()) of that part, and parts
+/// whose literal is not in the region are not parsed, as they cannot succeed.
+/// @author Striker-909
+/// @since v0.3.0
+public final class Combination extends Parser<Object> {
+    /// The built-in combinators.
+    enum Kind {
+        /// See [Combinator#OR].
+        OR,
+        /// See [Combinator#AND].
+        AND,
+        /// See [Combinator#AND_1].
+        AND_1,
+        /// See [Combinator#AND_2].
+        AND_2,
+        /// See [Combinator#SEQUENCE].
+        SEQUENCE
+    }
+
+    /// The number of parses between reorderings of an [adaptive](Combination#adaptive()) sequence.
+    private static final int REORDER_INTERVAL = 1024;
+
+    private final Kind kind;
+    private final Parser<?>[] parts;
+
+    private Combination(Kind kind, Parser<?>[] parts) {
+        super(function(kind, parts, literals(parts)));
+        this.kind = kind;
+        this.parts = parts;
+    }
+
+    /// Combines two parsers, flattening either of them that is a combination of the same kind.
+    /// @param kind The kind of combination
+    /// @param p1 First parser
+    /// @param p2 Second parser
+    /// @return The combination
+    static Combination of(Kind kind, Parser<?> p1, Parser<?> p2) {
+        List<Parser<?>> parts = new ArrayList<>();
+        flatten(kind, p1, parts);
+        flatten(kind, p2, parts);
+        return new Combination(kind, deduplicate(kind, parts));
+    }
+
+    private static void flatten(Kind kind, Parser<?> parser, List<Parser<?>> parts) {
+        if (parser instanceof Combination c && c.kind == kind) {
+            parts.addAll(Arrays.asList(c.parts));
+        } else {
+            parts.add(parser);
+        }
+    }
+
+    /// Removes every part that is the same parser as another part.
+    ///
+    /// [Combinator#AND_2] returns the output of its last part, so it keeps the last occurrence of each parser.
+    /// Every other kind keeps the first.
+    private static Parser<?>[] deduplicate(Kind kind, List<Parser<?>> parts) {
+        List<Parser<?>> unique = new ArrayList<>(parts.size());
+        if (kind == Kind.AND_2) {
+            for (int i = parts.size() - 1; i >= 0; i--) {
+                if (!containsSame(unique, parts.get(i))) unique.add(0, parts.get(i));
+            }
+        } else {
+            for (Parser<?> part : parts) {
+                if (!containsSame(unique, part)) unique.add(part);
+            }
+        }
+        return unique.toArray(new Parser<?>[0]);
+    }
+
+    private static boolean containsSame(List<Parser<?>> parsers, Parser<?> parser) {
+        for (Parser<?> p : parsers) {
+            if (p == parser) return true;
+        }
+        return false;
+    }
+
+    private static String[] literals(Parser<?>[] parts) {
+        String[] literals = new String[parts.length];
+        for (int i = 0; i < parts.length; i++) literals[i] = parts[i].literal();
+        return literals;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RegionFunction<Object> function(Kind kind, Parser<?>[] parts, String[] literals) {
+        return switch (kind) {
+            case SEQUENCE -> (s, from, to) -> {
+                for (int i = 0; i < parts.length; i++) {
+                    if (!contains(s, literals[i], from, to)) continue;
+                    Token<?> t = parts[i].parse(s, from, to);
+                    if (t.success()) return (Token<Object>) t;
+                }
+                return Token.failure(s, from, to);
+            };
+            case OR -> (s, from, to) -> {
+                Token<?> best = null;
+                for (int i = 0; i < parts.length; i++) {
+                    if (!contains(s, literals[i], from, to)) continue;
+                    Token<?> t = parts[i].parse(s, from, to);
+                    if (t.success() && (best == null || t.followLength() > best.followLength())) best = t;
+                }
+                return best == null ? Token.failure(s, from, to) : (Token<Object>) best;
+            };
+            case AND, AND_1, AND_2 -> (s, from, to) -> {
+                for (int i = 0; i < parts.length; i++) {
+                    if (!contains(s, literals[i], from, to)) return Token.failure(s, from, to);
+                }
+                Token<?> best = null;
+                for (int i = 0; i < parts.length; i++) {
+                    Token<?> t = parts[i].parse(s, from, to);
+                    if (!t.success()) return Token.failure(s, from, to);
+                    if (best == null
+                            || (kind == Kind.AND && t.followLength() > best.followLength())
+                            || kind == Kind.AND_2) best = t;
+                }
+                return (Token<Object>) best;
+            };
+        };
+    }
+
+    /// Returns if a literal is in a region of a [CharSequence].
+    /// @param s The sequence to search
+    /// @param literal The literal, which is in every region if it is empty
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return If the literal is in the region
+    private static boolean contains(CharSequence s, String literal, int from, int to) {
+        int n = literal.length();
+        if (n == 0) return true;
+        if (to - from < n) return false;
+        // Only searches the region, which may be much shorter than the string
+        if (s instanceof String str) return str.indexOf(literal, from, to) != -1;
+        char first = literal.charAt(0);
+        search:
+        for (int i = from; i + n <= to; i++) {
+            if (s.charAt(i) != first) continue;
+            for (int j = 1; j < n; j++) {
+                if (s.charAt(i + j) != literal.charAt(j)) continue search;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /// Returns the parsers combined, in the order they are parsed.
+    /// @return The parts of this combination
+    public List<Parser<?>> parts() {
+        return List.of(parts);
+    }
+
+    /// Returns the text that every success of this combination contains.
+    ///
+    /// Every part of an `AND` succeeds, so it is the longest literal of its parts. Other combinations
+    /// have no literal.
+    /// @return The literal, or an empty string if there is none
+    public String literal() {
+        if (kind == Kind.SEQUENCE || kind == Kind.OR) return "";
+        String literal = "";
+        for (Parser<?> part : parts) {
+            if (part.literal().length() > literal.length()) literal = part.literal();
+        }
+        return literal;
+    }
+
+    /// Returns a parser for this sequence that tries the parts that succeed most often first.
+    ///
+    /// **Only for parts that never succeed on the same region**, such as signatures that cannot match the same
+    /// text. The first success of such parts is their only success, so the order they are tried in cannot change
+    /// the result. Parts that can succeed on the same region, such as the precedence levels of
+    /// [ArithmeticParsers#ARITHMETIC](com.epra.eprascript.parsers.math.ArithmeticParsers#ARITHMETIC), must be tried
+    /// in order and should not be made adaptive.
+    ///
+    /// Successes are counted for each part, and the parts are sorted by their counts every `1024` parses.
+    /// @return The adaptive parser
+    /// @throws UnsupportedOperationException If this is not a [Combinator#SEQUENCE]
+    @SuppressWarnings("unchecked")
+    public Parser<Object> adaptive() {
+        if (kind != Kind.SEQUENCE) {
+            throw new UnsupportedOperationException("Only sequences can be reordered, not " + kind);
+        }
+        String[] literals = literals(parts);
+        AtomicLongArray hits = new AtomicLongArray(parts.length);
+        // The order is published through an AtomicReference, so a thread that reads a new order sees all of it
+        AtomicReference<int[]> order = new AtomicReference<>(identity(parts.length));
+        AtomicLong parses = new AtomicLong();
+        return new Parser<>((s, from, to) -> {
+            int[] current = order.get();
+            Token<?> result = null;
+            for (int i : current) {
+                if (!contains(s, literals[i], from, to)) continue;
+                Token<?> t = parts[i].parse(s, from, to);
+                if (t.success()) {
+                    hits.incrementAndGet(i);
+                    result = t;
+                    break;
+                }
+            }
+            // Concurrent reorderings may replace each other, but every order tries every part
+            if (parses.incrementAndGet() % REORDER_INTERVAL == 0) order.set(byHits(hits));
+            return result == null ? Token.failure(s, from, to) : (Token<Object>) result;
+        });
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        return order;
+    }
+
+    /// Orders parts from the most successes to the fewest, keeping the declared order for equal counts.
+    private static int[] byHits(AtomicLongArray hits) {
+        return Arrays.stream(identity(hits.length()))
+                .boxed()
+                .sorted((a, b) -> Long.compare(hits.get(b), hits.get(a)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
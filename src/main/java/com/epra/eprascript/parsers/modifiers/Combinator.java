@@ -2,11 +2,16 @@ package com.epra.eprascript.parsers.modifiers;
 
 import com.epra.eprascript.parsers.Parser;
 import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.alphanumeric.CharClassParser;
+import com.epra.eprascript.parsers.alphanumeric.CharParser;
 
 import java.util.function.BiFunction;
 
 /// A [BiFunction] that combines two [`Parsers`](Parser) to form a new [Parser].
 ///
+/// The built-in combinators build a [Combination], which flattens chains of the same combinator into one
+/// parser over all of their parts.
+///
 /// @author Striker-909
 /// @since v0.0.0
 public class Combinator {
@@ -30,6 +35,8 @@ public class Combinator {
     /// Combines two or more [`Parsers`](Parser) using the combine [BiFunction] in series.
     ///
     /// `combine(a, b, c, d, e)` is equivalent to `combine(combine(combine(combine(a, b), c), d), e)`
+    ///
+    /// For the built-in combinators, the result is a single [Combination] of all the parsers.
     /// @param parser A parser
     /// @param parsers Any number of additional parsers
     /// @return The combination of all the parsers
@@ -47,23 +54,15 @@ public class Combinator {
     /// - If only one [Parser] succeeds, returns the output of that [Parser].
     /// - If both [`Parsers`](Parser) succeed, returns the output with the longest `follow`,
     /// or the output of the first parser if the two `follows` have the same length.
-    @SuppressWarnings("unchecked")
+    ///
+    /// Two parsers that each parse for single characters ([CharParser] or [CharClassParser]) are fused into
+    /// one [CharClassParser], so a chain of `or`s over characters scans the input once.
     public static final Combinator OR = new Combinator(
-            (p1, p2) -> new Parser(
-                    s -> {
-                        Token<?> t = p1.parse(s.toString());
-                        Token<?> u = p2.parse(s.toString());
-                        if (t.success() && !u.success()) {
-                            return t;
-                        }
-                        if (u.success() && !t.success()) {
-                            return u;
-                        }
-                        if (!t.success()) { return new Token<>(null, "", s.toString(), false); }
-                        if (t.follow().length() >= u.follow().length()) { return t; }
-                        return u;
-                    }
-            )
+            (p1, p2) -> {
+                CharClassParser fused = CharClassParser.union(p1, p2);
+                if (fused != null) { return fused; }
+                return Combination.of(Combination.Kind.OR, p1, p2);
+            }
     );
 
     /// A [Combinator] that applies an `and` [BiFunction] to the success of two [`Parsers`](Parser).
@@ -71,62 +70,33 @@ public class Combinator {
     /// - If both [`Parsers`](Parser) succeed, returns the output with the longest `follow`,
     /// or the output of the first parser if the two `follows` have the same length.
     /// - Otherwise, returns a [Token] with `null` value and success as `false`.
-    @SuppressWarnings("unchecked")
     public static final Combinator AND = new Combinator(
-            (p1, p2) -> new Parser(
-                    s -> {
-                        Token<?> t = p1.parse(s.toString());
-                        Token<?> u = p2.parse(s.toString());
-                        if (!t.success() || !u.success()) { return new Token<>(null, "", s.toString(), false); }
-                        if (t.follow().length() >= u.follow().length()) { return t; }
-                        return u;
-                    }
-            )
+            (p1, p2) -> Combination.of(Combination.Kind.AND, p1, p2)
     );
     /// A [Combinator] that applies an `and` [BiFunction] to the success of two [`Parsers`](Parser).
     ///
     /// - If both [`Parsers`](Parser) succeed, returns the output of the first [Parser],
     /// or the output of the first parser if the two `follows` have the same length.
     /// - Otherwise, returns a [Token] with `null` value and success as `false`.
-    @SuppressWarnings("unchecked")
     public static final Combinator AND_1 = new Combinator(
-            (p1, p2) -> new Parser(
-                    s -> {
-                        Token<?> t = p1.parse(s.toString());
-                        Token<?> u = p2.parse(s.toString());
-                        if (!t.success() || !u.success()) { return new Token<>(null, "", s.toString(), false); }
-                        return t;
-                    }
-            )
+            (p1, p2) -> Combination.of(Combination.Kind.AND_1, p1, p2)
     );
     /// A [Combinator] that applies an `and` [BiFunction] to the success of two [`Parsers`](Parser).
     ///
     /// - If both [`Parsers`](Parser) succeed, returns the output of the second [Parser],
     /// or the output of the first parser if the two `follows` have the same length.
     /// - Otherwise, returns a [Token] with `null` value and success as `false`.
-    @SuppressWarnings("unchecked")
     public static final Combinator AND_2 = new Combinator(
-            (p1, p2) -> new Parser(
-                    s -> {
-                        Token<?> t = p1.parse(s.toString());
-                        Token<?> u = p2.parse(s.toString());
-                        if (!t.success() || !u.success()) { return new Token<Object>(null, "", s.toString(), false); }
-                        return u;
-                    }
-            )
+            (p1, p2) -> Combination.of(Combination.Kind.AND_2, p1, p2)
     );
     /// A [Combinator] that combines two [Parsers](Parser) in order.
     ///
     /// - If the first parser successfully parses the input, that output will be returned.
     /// - Otherwise, the output of the second parser on the input is returned.
-    @SuppressWarnings("unchecked")
+    ///
+    /// Sequences of alternatives that never succeed on the same region can be made to try the most successful
+    /// alternatives first with [Combination#adaptive()].
     public static final Combinator SEQUENCE = new Combinator(
-            (p1, p2) -> new Parser(
-                    s -> {
-                        Token<?> t = p1.parse(s.toString());
-                        if (t.success()) { return t; };
-                        return p2.parse(s.toString());
-                    }
-            )
+            (p1, p2) -> Combination.of(Combination.Kind.SEQUENCE, p1, p2)
     );
 }
@@ -2,6 +2,9 @@ package com.epra.eprascript.parsers.modifiers;
 
 import com.epra.eprascript.parsers.Parser;
 import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.primitive.DoubleParser;
+import com.epra.eprascript.parsers.primitive.IntParser;
+import com.epra.eprascript.parsers.primitive.LongParser;
 
 import java.util.ArrayList;
 import java.util.function.Function;
@@ -29,19 +32,25 @@ public class Map<I, O> {
 
     // Subclasses
 
-    /// A recursive parsing function used in the definition if [Many0] and [Many1].
+    /// A parsing function used in the definition if [Many0] and [Many1].
     /// @param parser The parser to be used
-    /// @param s The string to be parsed
+    /// @param s The sequence to be parsed
+    /// @param from The start of the region to be parsed
+    /// @param to The end of the region to be parsed
     /// @return A token with an array list of all continuous values of successful parses,
-    ///  starting at the beginning of the string
-    private static <T> Token<ArrayList<T>> many(Parser<T> parser, String s) {
-        Token<T> t = parser.parse(s);
-        // Fail or discontinuity -> empty array list
-        if (!t.success() || !t.head().isEmpty()) { return new Token<>(new ArrayList<>(), "", s, true); }
-        // Parse follow, add the value from the last parse to the front
-        Token<ArrayList<T>> out = many(parser, t.follow());
-        out.value().addFirst(t.value());
-        return out;
+    ///  starting at the beginning of the region
+    private static <T> Token<ArrayList<T>> many(Parser<T> parser, CharSequence s, int from, int to) {
+        ArrayList<T> values = new ArrayList<>();
+        Token<T> t = parser.parse(s, from, to);
+        // Continue on the follow until a fail or discontinuity
+        while (t.success() && t.headLength() == 0) {
+            values.add(t.value());
+            s = t.input();
+            from = t.end();
+            to = t.to();
+            t = parser.parse(s, from, to);
+        }
+        return new Token<>(values, s, from, from, from, to, true);
     }
 
     /// A [Map] that maps a [Parser] of type [T] onto a [Parser] of type [`ArrayList<T>`](ArrayList).
@@ -63,11 +72,11 @@ public class Map<I, O> {
         ///
         /// The returned parser will not fail, even if the input parser fails on the first run.
         public Many0() {
-            super(parser -> new Parser<>(s -> {
-                Token<T> t = parser.parse(s);
-                Token<ArrayList<T>> out = many(parser, t.follow());
+            super(parser -> new Parser<>((s, from, to) -> {
+                Token<T> t = parser.parse(s, from, to);
+                Token<ArrayList<T>> out = many(parser, t.input(), t.end(), t.to());
                 out.value().addFirst(t.value());
-                return new Token<>(out.value(), t.head(), out.follow(), true);
+                return Token.span(out.value(), t, out, true);
             }));
         }
     }
@@ -90,13 +99,64 @@ public class Map<I, O> {
         ///
         /// The returned parser will fail if the input parser fails on the first run.
         public Many1() {
-            super(parser -> new Parser<>(s -> {
-                Token<T> t = parser.parse(s);
-                if (!t.success()) { return new Token<>(new ArrayList<>(), "", s, false); }
-                Token<ArrayList<T>> out = many(parser, t.follow());
+            super(parser -> new Parser<>((s, from, to) -> {
+                Token<T> t = parser.parse(s, from, to);
+                if (!t.success()) { return new Token<>(new ArrayList<>(), s, from, from, from, to, false); }
+                Token<ArrayList<T>> out = many(parser, t.input(), t.end(), t.to());
                 out.value().addFirst(t.value());
-                return new Token<>(out.value(), t.head(), out.follow(), true);
+                return Token.span(out.value(), t, out, true);
             }));
         }
     }
+
+    /// A [Map] that maps a [Parser] of type [I] onto a [DoubleParser], whose values can be parsed without boxing.
+    public static class ToDouble<I> extends Map<I, Double> {
+        /// A [Map] that maps a [Parser] of type [I] onto a [DoubleParser].
+        /// @param map The function to map parsers
+        public ToDouble(Function<Parser<I>, DoubleParser> map) {
+            super(map::apply);
+        }
+
+        /// Applies the map [Function] to a [Parser].
+        /// @param input A parser to be mapped
+        /// @return The output of mapping the parser
+        @Override
+        public DoubleParser map(Parser<I> input) {
+            return (DoubleParser) super.map(input);
+        }
+    }
+
+    /// A [Map] that maps a [Parser] of type [I] onto a [IntParser], whose values can be parsed without boxing.
+    public static class ToInt<I> extends Map<I, Integer> {
+        /// A [Map] that maps a [Parser] of type [I] onto a [IntParser].
+        /// @param map The function to map parsers
+        public ToInt(Function<Parser<I>, IntParser> map) {
+            super(map::apply);
+        }
+
+        /// Applies the map [Function] to a [Parser].
+        /// @param input A parser to be mapped
+        /// @return The output of mapping the parser
+        @Override
+        public IntParser map(Parser<I> input) {
+            return (IntParser) super.map(input);
+        }
+    }
+
+    /// A [Map] that maps a [Parser] of type [I] onto a [LongParser], whose values can be parsed without boxing.
+    public static class ToLong<I> extends Map<I, Long> {
+        /// A [Map] that maps a [Parser] of type [I] onto a [LongParser].
+        /// @param map The function to map parsers
+        public ToLong(Function<Parser<I>, LongParser> map) {
+            super(map::apply);
+        }
+
+        /// Applies the map [Function] to a [Parser].
+        /// @param input A parser to be mapped
+        /// @return The output of mapping the parser
+        @Override
+        public LongParser map(Parser<I> input) {
+            return (LongParser) super.map(input);
+        }
+    }
 }
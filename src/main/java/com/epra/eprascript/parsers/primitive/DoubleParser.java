@@ -0,0 +1,74 @@
+package com.epra.eprascript.parsers.primitive;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Profiler;
+import com.epra.eprascript.parsers.Token;
+
+import java.util.function.DoubleUnaryOperator;
+
+/// A [Parser] of [Double] values that can also parse into a primitive [DoubleToken] without boxing.
+///
+/// Can be used anywhere a [`Parser<Double>`](Parser) is expected. [DoubleParser#parseDouble(CharSequence, int, int)]
+/// skips the boxed [Token] (and any active [com.epra.eprascript.parsers.Memo]).
+/// @author Striker-909
+/// @since v0.3.0
+public class DoubleParser extends Parser<Double> {
+
+    /// A function that parses a region of a [CharSequence] into a primitive [DoubleToken].
+    @FunctionalInterface
+    public interface DoubleRegionFunction {
+        /// Parses the region `[from, to)` of the input.
+        /// @param input The character sequence to be parsed
+        /// @param from The start of the region (inclusive)
+        /// @param to The end of the region (exclusive)
+        /// @return The output token
+        DoubleToken apply(CharSequence input, int from, int to);
+    }
+
+    private final DoubleRegionFunction parse;
+
+    /// A [Parser] of [Double] values that can also parse into a primitive [DoubleToken] without boxing.
+    /// @param parse The parser function
+    public DoubleParser(DoubleRegionFunction parse) {
+        super((s, from, to) -> parse.apply(s, from, to).boxed());
+        this.parse = parse;
+    }
+
+    /// Returns a [DoubleParser] for a [Parser] of any [Number], converting values with [Number#doubleValue()].
+    /// @param parser A parser of numbers
+    /// @return The primitive parser
+    public static DoubleParser of(Parser<? extends Number> parser) {
+        if (parser instanceof DoubleParser p) return p;
+        return new DoubleParser((s, from, to) -> DoubleToken.of(parser.parse(s, from, to)));
+    }
+
+    /// Returns the output [DoubleToken] of the parser applied to the input
+    /// @param input The input for the parser
+    /// @return The output token for the given input
+    public DoubleToken parseDouble(CharSequence input) {
+        return parseDouble(input, 0, input.length());
+    }
+
+    /// Returns the output [DoubleToken] of the parser applied to a region of the input
+    /// @param input The input for the parser
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return The output token for the given region
+    public DoubleToken parseDouble(CharSequence input, int from, int to) {
+        long start = Profiler.start(this);
+        DoubleToken t = parse.apply(input, from, to);
+        if (start != Profiler.OFF) Profiler.stop(this, start, t.success(), t.success() ? t.end() - from : to - from);
+        return t;
+    }
+
+    /// Returns a [DoubleParser] that applies the operator to the value of every successful parse.
+    /// @param operator The operator to apply
+    /// @return The mapped parser
+    public DoubleParser map(DoubleUnaryOperator operator) {
+        return new DoubleParser((s, from, to) -> {
+            DoubleToken token = parse.apply(s, from, to);
+            if (!token.success()) { return token; }
+            return token.withValue(operator.applyAsDouble(token.value()));
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.epra.eprascript.parsers.primitive;
+
+import com.epra.eprascript.parsers.Token;
+
+/// The output produced by a [DoubleParser], holding a primitive `double` value.
+///
+/// Has the same positions as a [Token], and can be converted to and from one.
+///
+/// @author Striker-909
+/// @since v0.3.0
+/// @param value The value returned by the parser, or `-1` if the parse failed
+/// @param input The character sequence that was parsed
+/// @param from The start of the parsed region of the input (inclusive)
+/// @param start The start of the parsed section (inclusive)
+/// @param end The end of the parsed section (exclusive)
+/// @param to The end of the parsed region of the input (exclusive)
+/// @param success If the parse was successful
+public record DoubleToken(double value, CharSequence input, int from, int start, int end, int to, boolean success) {
+
+    /// Returns an unsuccessful [DoubleToken] with a value of `-1`, an empty `head` and the whole region as `follow`.
+    /// @param input The character sequence that was parsed
+    /// @param from The start of the parsed region
+    /// @param to The end of the parsed region
+    /// @return A failed token for the region
+    public static DoubleToken failure(CharSequence input, int from, int to) {
+        return new DoubleToken(-1.0, input, from, from, from, to, false);
+    }
+
+    /// Converts a [Token] of a [Number] into a [DoubleToken] with the same positions.
+    ///
+    /// A `null` value is converted to `-1`.
+    /// @param token A token of a number
+    /// @return The primitive token
+    public static DoubleToken of(Token<? extends Number> token) {
+        double value = token.value() == null ? -1.0 : token.value().doubleValue();
+        return new DoubleToken(value, token.input(), token.from(), token.start(), token.end(), token.to(), token.success());
+    }
+
+    /// Converts this token into a [Token] of a [Double] with the same positions.
+    /// @return The boxed token
+    public Token<Double> boxed() {
+        return new Token<>(value, input, from, start, end, to, success);
+    }
+
+    /// Returns a copy of this [DoubleToken] with a different value and the same positions.
+    /// @param value The new value
+    /// @return A token with the new value
+    public DoubleToken withValue(double value) {
+        return new DoubleToken(value, input, from, start, end, to, success);
+    }
+
+    /// Returns the section of the input before the parsed section.
+    /// @return The head of the token
+    public String head() {
+        return input.subSequence(from, start).toString();
+    }
+
+    /// Returns the section of the input after the parsed section.
+    /// @return The follow of the token
+    public String follow() {
+        return input.subSequence(end, to).toString();
+    }
+
+    public String toString(){
+        if (!success){ return "(success: false)"; }
+        return "(value: " + value + ", head: " + head() + ", follow: " + follow() + ", success: true)";
+    }
+}
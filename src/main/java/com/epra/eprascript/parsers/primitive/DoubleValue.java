@@ -0,0 +1,30 @@
+package com.epra.eprascript.parsers.primitive;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/// A [Supplier] of a [Double] value that can also supply it as a primitive `double` without boxing.
+///
+/// Can be used anywhere a [`Supplier<Double>`](Supplier) is expected, such as the result of a
+/// [FunctionParser](com.epra.eprascript.parsers.function.FunctionParser). When it is the value of a nested function,
+/// [Arguments#getDouble(String)](com.epra.eprascript.parsers.function.Arguments#getDouble(String)) reads it with
+/// [DoubleValue#getAsDouble()], so a chain of arithmetic functions only boxes its final result.
+///
+/// A final class rather than an interface, so recognizing one is a single class comparison.
+/// @author Striker-909
+/// @since v0.3.0
+/// @param value The value
+public record DoubleValue(double value) implements Supplier<Double>, DoubleSupplier {
+
+    /// Returns the value.
+    /// @return The value
+    public double getAsDouble() {
+        return value;
+    }
+
+    /// Returns the value, boxed.
+    /// @return The value
+    public Double get() {
+        return value;
+    }
+}
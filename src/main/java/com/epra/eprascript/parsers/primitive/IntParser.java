@@ -0,0 +1,74 @@
+package com.epra.eprascript.parsers.primitive;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Profiler;
+import com.epra.eprascript.parsers.Token;
+
+import java.util.function.IntUnaryOperator;
+
+/// A [Parser] of [Integer] values that can also parse into a primitive [IntToken] without boxing.
+///
+/// Can be used anywhere a [`Parser<Integer>`](Parser) is expected. [IntParser#parseInt(CharSequence, int, int)]
+/// skips the boxed [Token] (and any active [com.epra.eprascript.parsers.Memo]).
+/// @author Striker-909
+/// @since v0.3.0
+public class IntParser extends Parser<Integer> {
+
+    /// A function that parses a region of a [CharSequence] into a primitive [IntToken].
+    @FunctionalInterface
+    public interface IntRegionFunction {
+        /// Parses the region `[from, to)` of the input.
+        /// @param input The character sequence to be parsed
+        /// @param from The start of the region (inclusive)
+        /// @param to The end of the region (exclusive)
+        /// @return The output token
+        IntToken apply(CharSequence input, int from, int to);
+    }
+
+    private final IntRegionFunction parse;
+
+    /// A [Parser] of [Integer] values that can also parse into a primitive [IntToken] without boxing.
+    /// @param parse The parser function
+    public IntParser(IntRegionFunction parse) {
+        super((s, from, to) -> parse.apply(s, from, to).boxed());
+        this.parse = parse;
+    }
+
+    /// Returns a [IntParser] for a [Parser] of any [Number], converting values with [Number#intValue()].
+    /// @param parser A parser of numbers
+    /// @return The primitive parser
+    public static IntParser of(Parser<? extends Number> parser) {
+        if (parser instanceof IntParser p) return p;
+        return new IntParser((s, from, to) -> IntToken.of(parser.parse(s, from, to)));
+    }
+
+    /// Returns the output [IntToken] of the parser applied to the input
+    /// @param input The input for the parser
+    /// @return The output token for the given input
+    public IntToken parseInt(CharSequence input) {
+        return parseInt(input, 0, input.length());
+    }
+
+    /// Returns the output [IntToken] of the parser applied to a region of the input
+    /// @param input The input for the parser
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return The output token for the given region
+    public IntToken parseInt(CharSequence input, int from, int to) {
+        long start = Profiler.start(this);
+        IntToken t = parse.apply(input, from, to);
+        if (start != Profiler.OFF) Profiler.stop(this, start, t.success(), t.success() ? t.end() - from : to - from);
+        return t;
+    }
+
+    /// Returns a [IntParser] that applies the operator to the value of every successful parse.
+    /// @param operator The operator to apply
+    /// @return The mapped parser
+    public IntParser map(IntUnaryOperator operator) {
+        return new IntParser((s, from, to) -> {
+            IntToken token = parse.apply(s, from, to);
+            if (!token.success()) { return token; }
+            return token.withValue(operator.applyAsInt(token.value()));
+        });
+    }
+}
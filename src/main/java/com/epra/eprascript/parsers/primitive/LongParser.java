@@ -0,0 +1,74 @@
+package com.epra.eprascript.parsers.primitive;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Profiler;
+import com.epra.eprascript.parsers.Token;
+
+import java.util.function.LongUnaryOperator;
+
+/// A [Parser] of [Long] values that can also parse into a primitive [LongToken] without boxing.
+///
+/// Can be used anywhere a [`Parser<Long>`](Parser) is expected. [LongParser#parseLong(CharSequence, int, int)]
+/// skips the boxed [Token] (and any active [com.epra.eprascript.parsers.Memo]).
+/// @author Striker-909
+/// @since v0.3.0
+public class LongParser extends Parser<Long> {
+
+    /// A function that parses a region of a [CharSequence] into a primitive [LongToken].
+    @FunctionalInterface
+    public interface LongRegionFunction {
+        /// Parses the region `[from, to)` of the input.
+        /// @param input The character sequence to be parsed
+        /// @param from The start of the region (inclusive)
+        /// @param to The end of the region (exclusive)
+        /// @return The output token
+        LongToken apply(CharSequence input, int from, int to);
+    }
+
+    private final LongRegionFunction parse;
+
+    /// A [Parser] of [Long] values that can also parse into a primitive [LongToken] without boxing.
+    /// @param parse The parser function
+    public LongParser(LongRegionFunction parse) {
+        super((s, from, to) -> parse.apply(s, from, to).boxed());
+        this.parse = parse;
+    }
+
+    /// Returns a [LongParser] for a [Parser] of any [Number], converting values with [Number#longValue()].
+    /// @param parser A parser of numbers
+    /// @return The primitive parser
+    public static LongParser of(Parser<? extends Number> parser) {
+        if (parser instanceof LongParser p) return p;
+        return new LongParser((s, from, to) -> LongToken.of(parser.parse(s, from, to)));
+    }
+
+    /// Returns the output [LongToken] of the parser applied to the input
+    /// @param input The input for the parser
+    /// @return The output token for the given input
+    public LongToken parseLong(CharSequence input) {
+        return parseLong(input, 0, input.length());
+    }
+
+    /// Returns the output [LongToken] of the parser applied to a region of the input
+    /// @param input The input for the parser
+    /// @param from The start of the region (inclusive)
+    /// @param to The end of the region (exclusive)
+    /// @return The output token for the given region
+    public LongToken parseLong(CharSequence input, int from, int to) {
+        long start = Profiler.start(this);
+        LongToken t = parse.apply(input, from, to);
+        if (start != Profiler.OFF) Profiler.stop(this, start, t.success(), t.success() ? t.end() - from : to - from);
+        return t;
+    }
+
+    /// Returns a [LongParser] that applies the operator to the value of every successful parse.
+    /// @param operator The operator to apply
+    /// @return The mapped parser
+    public LongParser map(LongUnaryOperator operator) {
+        return new LongParser((s, from, to) -> {
+            LongToken token = parse.apply(s, from, to);
+            if (!token.success()) { return token; }
+            return token.withValue(operator.applyAsLong(token.value()));
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.epra.eprascript;
+
+import com.epra.eprascript.parsers.function.EvaluationContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/// Tests that a [BatchEvaluator] returns the result of each line in the order of the lines.
+/// @author Striker-909
+/// @since v0.3.0
+class BatchEvaluatorTest {
+    private static final BatchEvaluator BATCH = new BatchEvaluator(new Evaluator(), 4);
+
+    @AfterAll
+    static void close() {
+        BATCH.close();
+    }
+
+    @Test
+    void returnsResultsInTheOrderOfTheLines() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) lines.add(i % 7 == 0 ? "(" + i + "+1)*2" : i + "*3");
+        List<Evaluator.Result> results = BATCH.evaluate(lines);
+        assertEquals(lines.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            double expected = i % 7 == 0 ? (i + 1) * 2 : i * 3;
+            assertEquals(new Evaluator.Result.Value(expected), results.get(i), lines.get(i));
+        }
+    }
+
+    @Test
+    void failsOnlyTheLinesThatThrow() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // Assigning from a variable that was never assigned throws
+            lines.add(i % 5 == 0 ? "w=q+1" : i % 5 == 1 ? "+" : i + "+1");
+        }
+        List<Evaluator.Result> results = BATCH.evaluate(lines);
+        for (int i = 0; i < results.size(); i++) {
+            switch (i % 5) {
+                case 0 -> assertInstanceOf(Evaluator.Result.Failed.class, results.get(i), lines.get(i));
+                case 1 -> assertEquals(new Evaluator.Result.Invalid(), results.get(i), lines.get(i));
+                default -> assertEquals(new Evaluator.Result.Value((double) i + 1), results.get(i), lines.get(i));
+            }
+        }
+    }
+
+    @Test
+    void showsAssignmentsToLaterBatchesWithTheSameContext() {
+        EvaluationContext context = new EvaluationContext();
+        List<Evaluator.Result> assigned = BATCH.evaluate(List.of("a=2", "b=3"), context);
+        assertEquals(List.of(new Evaluator.Result.Assigned("a", "2"), new Evaluator.Result.Assigned("b", "3")), assigned);
+        assertEquals(List.of(new Evaluator.Result.Value(6.0), new Evaluator.Result.Value(5.0)), BATCH.evaluate(List.of("a*b", "a+b"), context));
+        // A new context does not see them
+        assertInstanceOf(Evaluator.Result.Invalid.class, BATCH.evaluate(List.of("a*b")).get(0));
+    }
+}
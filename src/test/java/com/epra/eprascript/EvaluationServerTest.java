@@ -0,0 +1,124 @@
+package com.epra.eprascript;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// Tests the line protocol of an [EvaluationServer] over a socket in a temporary directory.
+/// @author Striker-909
+/// @since v0.3.0
+class EvaluationServerTest {
+    @TempDir
+    Path dir;
+    private EvaluationServer server;
+
+    @BeforeEach
+    void open() throws IOException {
+        server = EvaluationServer.open(dir.resolve("eprascript.sock"));
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        server.close();
+        assertFalse(Files.exists(server.socket()));
+    }
+
+    @Test
+    void answersPipelinedRequestsInOrder() throws IOException {
+        try (Client client = new Client(server.socket())) {
+            List<String> requests = new ArrayList<>();
+            for (int i = 0; i < 500; i++) requests.add(i + "*2");
+            List<String> responses = client.send(requests);
+            for (int i = 0; i < 500; i++) assertEquals("VALUE " + (i * 2.0), responses.get(i), requests.get(i));
+        }
+    }
+
+    @Test
+    void answersEachKindOfRequest() throws IOException {
+        try (Client client = new Client(server.socket())) {
+            assertEquals(List.of(
+                    "ASSIGNED x 2",
+                    "ASSIGNED y x*3",
+                    "VALUE 6.0",
+                    "VALUE 7.0",
+                    "INVALID",
+                    "CIRCULAR x -> y -> x",
+                    "ERROR Unknown command :nothing"
+            ), client.send(List.of("x=2", "y=x*3", "y", "y+1\r", "+", "x=y", ":nothing")));
+            assertTrue(client.send(List.of(":stats")).get(0).startsWith("STATS count=6 p50="));
+        }
+    }
+
+    @Test
+    void rejectsRequestsLongerThanTheLimit() throws IOException {
+        try (Client client = new Client(server.socket())) {
+            // Spaces are ignored, so the longest request evaluates as quickly as 1+1
+            String longest = "1+" + " ".repeat(65536 - 3) + "1";
+            assertEquals(List.of(
+                    "ERROR Request longer than 65536 characters",
+                    "VALUE 2.0",
+                    "VALUE 2.0",
+                    "VALUE 3.0"
+            ), client.send(List.of(longest + " ", longest, longest + "\r", "1+2")));
+        }
+    }
+
+    @Test
+    void keepsTheVariablesOfEachSessionApart() throws IOException {
+        try (Client first = new Client(server.socket()); Client second = new Client(server.socket())) {
+            assertEquals(List.of("ASSIGNED x 5"), first.send(List.of("x=5")));
+            assertEquals(List.of("INVALID"), second.send(List.of("x")));
+            assertEquals(List.of("VALUE 10.0", "RESET", "INVALID"), first.send(List.of("x*2", ":reset", "x")));
+            // Resetting also forgets the cached plan of x*2
+            assertEquals(List.of("INVALID"), first.send(List.of("x*2")));
+        }
+    }
+
+    /// A connection that sends all of its requests before reading any responses.
+    private static final class Client implements AutoCloseable {
+        private final SocketChannel channel;
+        private final OutputStream out;
+        private final BufferedReader in;
+
+        private Client(Path socket) throws IOException {
+            channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            out = Channels.newOutputStream(channel);
+            in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+        }
+
+        private List<String> send(List<String> requests) throws IOException {
+            out.write((String.join("\n", requests) + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            List<String> responses = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) responses.add(in.readLine());
+            return responses;
+        }
+
+        public void close() throws IOException {
+            channel.shutdownOutput();
+            assertNull(in.readLine());
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.epra.eprascript.parsers;
+
+import com.epra.eprascript.parsers.alphanumeric.RegExParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/// Tests that the iterative [Parser#count(CharSequence)], [`replaceAll`](Parser#replaceAll(CharSequence, Function))
+/// and [`recursiveReplaceAll`](Parser#recursiveReplaceAll(CharSequence, Function)) give the same results as the
+/// recursive methods they replaced.
+/// @author Striker-909
+/// @since v0.3.0
+class ParserTest {
+    /// Parses `ab` or `ba` in place.
+    private static final Parser<String> REGION = new RegExParser("ab|ba");
+    /// Parses `ab` or `ba` from a copy of the region, so tokens are built from head and follow strings.
+    private static final Parser<String> COPYING = new Parser<>((Function<String, Token<String>>) s -> {
+        int ab = s.indexOf("ab");
+        int ba = s.indexOf("ba");
+        int i = ab < 0 ? ba : ba < 0 ? ab : Math.min(ab, ba);
+        if (i < 0) return new Token<>(null, "", s, false);
+        return new Token<>(s.substring(i, i + 2), s.substring(0, i), s.substring(i + 2), true);
+    });
+    /// Parses runs of `a` ending in `b`, which can be any length.
+    private static final Parser<String> RUNS = new RegExParser("a+b");
+    /// Shrinks every success by one character, which can create a new success before it, as in `aab`.
+    private static final Function<String, String> SHRINK = v -> v.equals("ab") ? "b" : "a";
+
+    @Test
+    void countsAndReplacesLikeTheRecursiveMethods() {
+        Random random = new Random(4);
+        for (int i = 0; i < 20_000; i++) {
+            String s = randomInput(random);
+            for (Parser<String> parser : List.of(REGION, COPYING, RUNS)) {
+                assertEquals(count(parser, s), parser.count(s), s);
+                assertEquals(replaceAll(parser, s, String::toUpperCase), parser.replaceAll(s, String::toUpperCase), s);
+                assertEquals(replaceAll(parser, s, v -> "-"), parser.replaceAll(s, "-"), s);
+                StringBuilder out = new StringBuilder();
+                parser.replaceAll(s, String::toUpperCase, out);
+                assertEquals(replaceAll(parser, s, String::toUpperCase), out.toString(), s);
+            }
+        }
+    }
+
+    @Test
+    void recursivelyReplacesLikeTheRecursiveMethod() {
+        Random random = new Random(40);
+        for (int i = 0; i < 20_000; i++) {
+            String s = randomInput(random);
+            for (Parser<String> parser : List.of(REGION, COPYING)) {
+                String expected = recursiveReplaceAll(parser, s, SHRINK);
+                assertEquals(expected, parser.recursiveReplaceAll(s, SHRINK), s);
+                assertEquals(expected, parser.recursiveReplaceAll(new StringBuilder(s), SHRINK), s);
+                // Successes are two characters long, so resuming two characters before each replacement finds them
+                assertEquals(expected, parser.recursiveReplaceAll(s, SHRINK, Integer.MAX_VALUE, 2), s);
+            }
+        }
+    }
+
+    @Test
+    void resumesAfterTheLastReplacementOnLongInputs() {
+        // Rescanning from the start after each of the 100000 replacements would take minutes
+        String s = "a".repeat(100_000) + "b";
+        assertEquals("b", REGION.recursiveReplaceAll(s, SHRINK, Integer.MAX_VALUE, 2));
+        assertEquals("b", COPYING.recursiveReplaceAll(s, SHRINK, Integer.MAX_VALUE, 2));
+    }
+
+    @Test
+    void stopsAfterTheLimit() {
+        assertThrows(IllegalStateException.class, () -> REGION.recursiveReplaceAll("aaab", SHRINK, 2));
+        assertEquals("b", REGION.recursiveReplaceAll("aaab", SHRINK, 3));
+    }
+
+    private static String randomInput(Random random) {
+        String alphabet = "ab..";
+        StringBuilder sb = new StringBuilder();
+        int n = random.nextInt(41);
+        for (int i = 0; i < n; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    // The recursive methods as they were before they were made iterative
+
+    private static int count(Parser<?> parser, CharSequence input) {
+        return count(parser, input, 0, input.length());
+    }
+
+    private static int count(Parser<?> parser, CharSequence input, int from, int to) {
+        Token<?> t = parser.parse(input, from, to);
+        if (!t.success()) return 0;
+        return 1 + count(parser, t.input(), t.end(), t.to());
+    }
+
+    private static <T> String replace(Parser<T> parser, String input, Function<T, String> replacement) {
+        Token<T> t = parser.parse(input);
+        if (!t.success()) return input;
+        return t.head() + replacement.apply(t.value()) + t.follow();
+    }
+
+    private static <T> String replaceAll(Parser<T> parser, String input, Function<T, String> replacement) {
+        Token<T> t = parser.parse(input);
+        if (!t.success()) return input;
+        return t.head() + replacement.apply(t.value()) + replaceAll(parser, t.follow(), replacement);
+    }
+
+    private static <T> String recursiveReplaceAll(Parser<T> parser, String input, Function<T, String> replacement) {
+        Token<T> t = parser.parse(input);
+        if (!t.success()) return input;
+        return recursiveReplaceAll(parser, replace(parser, input, replacement), replacement);
+    }
+}
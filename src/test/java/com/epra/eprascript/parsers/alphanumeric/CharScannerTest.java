@@ -0,0 +1,137 @@
+package com.epra.eprascript.parsers.alphanumeric;
+
+import com.epra.eprascript.parsers.MappedInput;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/// Tests that a [CharScanner] finds the same indices as searching one character at a time, with whichever backend
+/// is loaded. `gradle check` runs it with and without `--add-modules jdk.incubator.vector`.
+/// @author Striker-909
+/// @since v0.3.0
+class CharScannerTest {
+    /// Characters to build inputs and sets from, including non-Latin-1 characters and a surrogate pair.
+    private static final String ALPHABET = "abcxyz+-*/^%()0189 éÿĀ€😀";
+
+    @Test
+    void loadsTheVectorBackendOnlyWithTheVectorModule() {
+        boolean vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(vectorModule ? "vector" : "scalar", CharScanner.backend());
+    }
+
+    @Test
+    void findsTheSameIndicesAsANaiveSearch() {
+        Random random = new Random(23);
+        for (int i = 0; i < 40_000; i++) {
+            CharScanner scanner = new CharScanner(randomSet(random));
+            // Long enough to be copied in several chunks, and to leave lanes over at the end of a vector loop
+            String text = randomText(random, random.nextInt(4) == 0 ? 6000 : 300);
+            int from = random.nextInt(text.length() + 1);
+            int to = from + random.nextInt(text.length() - from + 1);
+            int expected = naive(scanner, text, from, to);
+            assertEquals(expected, scanner.indexIn(text, from, to), "String");
+            assertEquals(expected, scanner.indexIn(new StringBuilder(text), from, to), "StringBuilder");
+            assertEquals(expected, scanner.indexIn(text.toCharArray(), from, to), "char[]");
+            assertEquals(expected, scanner.indexIn(new Sequence(text), from, to), "CharSequence");
+            String latin1 = latin1(text);
+            assertEquals(naive(scanner, latin1, from, to), scanner.indexIn(latin1.getBytes(StandardCharsets.ISO_8859_1), from, to), "byte[]");
+        }
+    }
+
+    @Test
+    void findsTheSameIndicesInMappedInputs(@TempDir Path dir) throws IOException {
+        Random random = new Random(29);
+        String text = randomText(random, 20_000);
+        Path utf8 = Files.writeString(dir.resolve("utf8.txt"), text, StandardCharsets.UTF_8);
+        Path latin1 = Files.writeString(dir.resolve("latin1.txt"), latin1(text), StandardCharsets.ISO_8859_1);
+        for (MappedInput input : new MappedInput[]{
+                MappedInput.open(utf8, MappedInput.Encoding.UTF_8),
+                MappedInput.open(latin1, MappedInput.Encoding.LATIN_1)}) {
+            String expectedText = input.toString();
+            for (int i = 0; i < 5_000; i++) {
+                CharScanner scanner = new CharScanner(randomSet(random));
+                int from = random.nextInt(input.length() + 1);
+                int to = from + random.nextInt(Math.min(input.length() - from, 9000) + 1);
+                assertEquals(naive(scanner, expectedText, from, to), scanner.indexIn(input, from, to), input.encoding().name());
+                char[] chars = new char[to - from];
+                input.getChars(from, to, chars, 0);
+                assertEquals(expectedText.substring(from, to), new String(chars));
+                if (input.encoding() == MappedInput.Encoding.LATIN_1) {
+                    byte[] bytes = new byte[to - from];
+                    input.getBytes(from, to, bytes, 0);
+                    assertEquals(expectedText.substring(from, to), new String(bytes, StandardCharsets.ISO_8859_1));
+                }
+            }
+        }
+    }
+
+    @Test
+    void findsNothingWithAnEmptySet() {
+        CharScanner scanner = new CharScanner();
+        String text = "x".repeat(1000);
+        assertEquals(-1, scanner.indexIn(text, 0, text.length()));
+        assertEquals(-1, scanner.indexIn(text.toCharArray(), 0, text.length()));
+        assertEquals(-1, scanner.indexIn(text.getBytes(StandardCharsets.ISO_8859_1), 0, text.length()));
+    }
+
+    private static int naive(CharScanner scanner, CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (scanner.contains(s.charAt(i))) return i;
+        }
+        return -1;
+    }
+
+    /// Returns a set of up to 12 characters, so sets both within and beyond the vectorized sizes are searched.
+    private static char[] randomSet(Random random) {
+        char[] set = new char[random.nextInt(13)];
+        for (int i = 0; i < set.length; i++) set[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        return set;
+    }
+
+    /// Returns text that is mostly `.`, so matches are spread out. Only whole code points are added, so the text
+    /// can be encoded in UTF-8.
+    private static String randomText(Random random, int maxLength) {
+        int[] codePoints = ALPHABET.codePoints().toArray();
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.appendCodePoint(random.nextInt(40) == 0 ? codePoints[random.nextInt(codePoints.length)] : '.');
+        }
+        return sb.toString();
+    }
+
+    /// Replaces every character beyond Latin-1 with `?`.
+    private static String latin1(String text) {
+        StringBuilder sb = new StringBuilder(text);
+        for (int i = 0; i < sb.length(); i++) {
+            if (sb.charAt(i) > 0xff) sb.setCharAt(i, '?');
+        }
+        return sb.toString();
+    }
+
+    /// A [CharSequence] that is not one of the types the scanner copies from.
+    private record Sequence(String text) implements CharSequence {
+        public int length() {
+            return text.length();
+        }
+
+        public char charAt(int index) {
+            return text.charAt(index);
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return new Sequence(text.substring(start, end));
+        }
+
+        public String toString() {
+            return text;
+        }
+    }
+}
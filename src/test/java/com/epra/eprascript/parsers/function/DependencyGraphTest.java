@@ -0,0 +1,86 @@
+package com.epra.eprascript.parsers.function;
+
+import com.epra.eprascript.Evaluator;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/// Tests that a [DependencyGraph] recomputes dependent variables in topological order, and how it handles
+/// formulas that read the variable they are assigned to.
+/// @author Striker-909
+/// @since v0.3.0
+class DependencyGraphTest {
+    private final Evaluator evaluator = new Evaluator();
+    private final EvaluationContext context = new EvaluationContext();
+
+    @Test
+    void recomputesEachDependentOnceInTopologicalOrder() {
+        context.run(() -> {
+            for (String line : List.of("a=1", "b=a+1", "c=a*2", "d=b+c", "e=d+b", "f=7")) evaluator.evaluate(line);
+            DependencyGraph graph = context.dependencies();
+            assertEquals(Set.of("b", "c"), graph.dependents("a"));
+            assertEquals(Set.of("b", "c"), graph.dependencies("d"));
+            long before = graph.recomputations();
+            evaluator.evaluate("a=3");
+            // d waits for b and c, and e for d and b, so each is recomputed once and f is not touched
+            assertEquals(4, graph.recomputations() - before);
+            assertEquals(4.0, AssignmentParser.value("b"));
+            assertEquals(6.0, AssignmentParser.value("c"));
+            assertEquals(10.0, AssignmentParser.value("d"));
+            assertEquals(14.0, AssignmentParser.value("e"));
+            assertEquals(7.0, AssignmentParser.value("f"));
+        });
+    }
+
+    @Test
+    void readsThePreviousValueOfTheAssignedVariable() {
+        context.run(() -> {
+            evaluator.evaluate("x=1");
+            evaluator.evaluate("y=x*10");
+            evaluator.evaluate("x=x+1");
+            assertEquals(2.0, AssignmentParser.value("x"));
+            assertEquals(20.0, AssignmentParser.value("y"));
+            // x is fixed rather than depending on itself
+            assertEquals(Set.of(), context.dependencies().dependencies("x"));
+            evaluator.evaluate("x=x+1");
+            assertEquals(3.0, AssignmentParser.value("x"));
+            assertEquals(30.0, AssignmentParser.value("y"));
+        });
+    }
+
+    @Test
+    void rejectsAssignmentsThatDependOnThemselvesThroughOtherVariables() {
+        context.run(() -> {
+            evaluator.evaluate("a=1");
+            evaluator.evaluate("b=a*2");
+            evaluator.evaluate("c=b+1");
+            // a would read c, which reads b, which reads a
+            assertEquals(new Evaluator.Result.Circular(List.of("a", "c", "b", "a")), evaluator.evaluate("a=c"));
+            // Nothing changed
+            assertEquals("1", context.dependencies().formula("a"));
+            assertEquals(1.0, AssignmentParser.value("a"));
+            assertEquals(3.0, AssignmentParser.value("c"));
+            evaluator.evaluate("a=5");
+            assertEquals(11.0, AssignmentParser.value("c"));
+        });
+    }
+
+    @Test
+    void serializesTheCycle() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new CircularDependencyException(List.of("a", "b", "a")));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(List.of("a", "b", "a"), ((CircularDependencyException) in.readObject()).cycle());
+        }
+    }
+}
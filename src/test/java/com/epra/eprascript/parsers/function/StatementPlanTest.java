@@ -0,0 +1,45 @@
+package com.epra.eprascript.parsers.function;
+
+import com.epra.eprascript.Evaluator;
+import com.epra.eprascript.StatementCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/// Tests when a [StatementPlan] stops being current.
+/// @author Striker-909
+/// @since v0.3.0
+class StatementPlanTest {
+
+    @Test
+    void staysCurrentUntilANameInTheStatementIsAssigned() {
+        Evaluator evaluator = new Evaluator();
+        StatementCache cache = evaluator.cache();
+        new EvaluationContext().run(() -> {
+            evaluator.evaluate("ab=2");
+            assertEquals(new Evaluator.Result.Value(5.0), evaluator.evaluate("ab*2+1"));
+            // Names that do not occur in the statement leave its plan current
+            evaluator.evaluate("c=3");
+            evaluator.evaluate("abc=4");
+            assertEquals(new Evaluator.Result.Value(5.0), evaluator.evaluate("ab*2+1"));
+            assertEquals(1, cache.hits());
+            assertEquals(0, cache.stale());
+            // `b` occurs in the statement, so it may now be read
+            evaluator.evaluate("b=5");
+            assertEquals(new Evaluator.Result.Value(5.0), evaluator.evaluate("ab*2+1"));
+            assertEquals(1, cache.hits());
+            assertEquals(1, cache.stale());
+            assertEquals(new Evaluator.Result.Value(5.0), evaluator.evaluate("ab*2+1"));
+            assertEquals(2, cache.hits());
+        });
+    }
+
+    @Test
+    void isNotCurrentInAnotherContext() {
+        Evaluator evaluator = new Evaluator();
+        new EvaluationContext().run(() -> evaluator.evaluate("1+2"));
+        new EvaluationContext().run(() -> evaluator.evaluate("1+2"));
+        assertEquals(0, evaluator.cache().hits());
+        assertEquals(1, evaluator.cache().stale());
+    }
+}
@@ -0,0 +1,78 @@
+package com.epra.eprascript.parsers.function;
+
+import com.epra.eprascript.parsers.math.ArithmeticParsers;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// Tests that a [SupplierRegistry] stays bounded with and without scopes.
+/// @author Striker-909
+/// @since v0.3.0
+class SupplierRegistryTest {
+
+    @Test
+    void staysBoundedOverManyParsesWithoutScopes() {
+        EvaluationContext context = new EvaluationContext(256);
+        context.run(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                String text = ArithmeticParsers.ARITHMETIC.recursiveReplaceAll(i + "*2+(" + i + "-1)*3", FunctionParser::supplierToAddress);
+                assertEquals(5.0 * i - 3, FunctionParser.FUNCTION_FETCHER.parse(text).value().get());
+                assertTrue(context.addresses().size() <= 256);
+            }
+        });
+    }
+
+    @Test
+    void replacesTheOldestSuppliersOutsideOfScopes() {
+        SupplierRegistry registry = new SupplierRegistry(8);
+        SupplierRegistry.Registered<?>[] registered = new SupplierRegistry.Registered<?>[20];
+        for (int i = 0; i < registered.length; i++) {
+            int value = i;
+            registered[i] = registry.register(() -> value);
+            assertSame(registered[i], registry.resolve(registered[i].handle()));
+        }
+        assertEquals(8, registry.size());
+        // The last 8 suppliers are still registered, at the handles they wrapped around to
+        for (int i = 12; i < 20; i++) {
+            assertEquals(i % 8, registered[i].handle());
+            assertSame(registered[i], registry.resolve(registered[i].address(), 1, registered[i].address().length() - 1));
+        }
+        assertSame(registered[19], registry.register(registered[19]));
+        assertEquals(8, registry.size());
+    }
+
+    @Test
+    void keepsTheSuppliersOfOpenScopes() {
+        SupplierRegistry registry = new SupplierRegistry(8);
+        for (int i = 0; i < 5; i++) registry.register(() -> 0);
+        Supplier<?>[] scoped = new Supplier<?>[8];
+        try (var scope = registry.openScope()) {
+            // The scope can replace the 5 suppliers registered before it, but not its own
+            for (int i = 0; i < 8; i++) scoped[i] = registry.register(() -> 1);
+            for (Supplier<?> supplier : scoped) assertSame(supplier, registry.resolve(((SupplierRegistry.Registered<?>) supplier).handle()));
+            assertThrows(IllegalStateException.class, () -> registry.register(() -> 2));
+        }
+        assertEquals(0, registry.size());
+        for (Supplier<?> supplier : scoped) assertNull(registry.resolve(((SupplierRegistry.Registered<?>) supplier).handle()));
+        // Handles are reused from where the scope was opened
+        assertEquals(5, registry.register(() -> 3).handle());
+    }
+
+    @Test
+    void forgetsSharedSuppliersBeforeTheyCanBeReplaced() {
+        SupplierRegistry registry = new SupplierRegistry(8);
+        SupplierRegistry.Registered<Integer> shared = registry.share("key", () -> 1);
+        for (int i = 0; i < 3; i++) {
+            registry.register(() -> 0);
+            assertSame(shared, registry.shared("key"));
+        }
+        registry.register(() -> 0);
+        assertNull(registry.shared("key"));
+    }
+}
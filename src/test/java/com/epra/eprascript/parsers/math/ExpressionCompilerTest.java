@@ -0,0 +1,74 @@
+package com.epra.eprascript.parsers.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/// Tests that a [CompiledExpression] evaluates to the same value as the [Expression] it was compiled from.
+/// @author Striker-909
+/// @since v0.3.0
+class ExpressionCompilerTest {
+    @Test
+    void evaluatesLikeTheExpressionTree() {
+        Random random = new Random(9);
+        RandomExpressions expressions = new RandomExpressions(random);
+        ExpressionCompiler compiler = new ExpressionCompiler();
+        for (int i = 0; i < 20_000; i++) {
+            Expression expression = expressions.expression(6);
+            String text = expressions.print(expression);
+            CompiledExpression fromTree = compiler.compile(expression);
+            CompiledExpression fromText = compiler.compile(text);
+            for (int j = 0; j < 5; j++) {
+                Map<String, Double> values = new HashMap<>();
+                for (String name : RandomExpressions.VARIABLES) values.put(name, randomValue(random));
+                double expected = expression.evaluate(values::get);
+                // assertEquals compares doubles bit for bit, apart from NaN
+                assertEquals(expected, fromTree.eval(array(fromTree, values)), text);
+                assertEquals(expected, fromText.eval(array(fromText, values)), text);
+                assertEquals(expected, fromTree.eval(values::get), text);
+            }
+        }
+    }
+
+    @Test
+    void ordersVariablesByFirstUse() {
+        CompiledExpression compiled = new ExpressionCompiler().compile("b*a+b-c");
+        assertEquals(List.of("b", "a", "c"), compiled.variables());
+        assertEquals(1, compiled.indexOf("a"));
+        assertEquals(-1, compiled.indexOf("d"));
+        assertEquals(2 * 3 + 2 - 4, compiled.eval(new double[]{2, 3, 4}));
+    }
+
+    @Test
+    void cachesExpressionsByText() {
+        ExpressionCompiler compiler = new ExpressionCompiler(new ExpressionParser(), 1);
+        CompiledExpression compiled = compiler.compile("x+1");
+        assertSame(compiled, compiler.compile("x+1"));
+        // Past the capacity, expressions are compiled but not cached
+        compiler.compile("x+2");
+        assertEquals(1, compiler.size());
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile("1+"));
+    }
+
+    private static double[] array(CompiledExpression compiled, Map<String, Double> values) {
+        double[] vars = new double[compiled.variables().size()];
+        for (int i = 0; i < vars.length; i++) vars[i] = values.get(compiled.variables().get(i));
+        return vars;
+    }
+
+    private static double randomValue(Random random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> 0;
+            case 1 -> -random.nextInt(10);
+            case 2 -> random.nextDouble() * 1e6 - 5e5;
+            default -> random.nextInt(20) / 4.0;
+        };
+    }
+}
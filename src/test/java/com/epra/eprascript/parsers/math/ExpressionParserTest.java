@@ -0,0 +1,81 @@
+package com.epra.eprascript.parsers.math;
+
+import com.epra.eprascript.parsers.Token;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/// Tests the precedence, associativity and errors of [ExpressionParser].
+/// @author Striker-909
+/// @since v0.3.0
+class ExpressionParserTest {
+    private static final ExpressionParser PARSER = new ExpressionParser();
+
+    @Test
+    void appliesOperatorsByPrecedence() {
+        assertEquals(7, evaluate("1+2*3"));
+        assertEquals(18, evaluate("2*3^2"));
+        assertEquals(9, evaluate("(1+2)*3"));
+        assertEquals(6, evaluate("|1-4|*2"));
+        assertEquals(5, evaluate("1+7//2*2-2"));
+        assertEquals(7, evaluate("1+7%4*2"));
+        assertEquals(11, evaluate("1 + 2 ^ 2 * 2.5"));
+    }
+
+    @Test
+    void appliesOperatorsOfTheSamePrecedenceFromLeftToRight() {
+        assertEquals(3, evaluate("8-3-2"));
+        assertEquals(8, evaluate("64/4/2"));
+        assertEquals(1, evaluate("7//2//2"));
+        assertEquals(6, evaluate("10%7%4*2"));
+        assertEquals(64, evaluate("2^3^2"));
+        assertEquals(4, evaluate("5-3+2"));
+    }
+
+    @Test
+    void readsAMinusAfterAnOperandAsSubtraction() {
+        // ARITHMETIC reads -3 as a number here and gives -12
+        assertEquals(-10, evaluate("2-3*4"));
+        assertEquals(-6, evaluate("2*-3"));
+        assertEquals(5, evaluate("2--3"));
+        // A `-` directly before a number is part of it, so it binds tighter than ^
+        assertEquals(4, evaluate("-2^2"));
+        assertEquals(-4, evaluate("-(2^2)"));
+        assertEquals(new Expression.Negation(new Expression.Variable("x")), PARSER.parseWhole("-x"));
+    }
+
+    @Test
+    void parsesPrintedTreesBackIntoTheSameTree() {
+        RandomExpressions expressions = new RandomExpressions(new Random(8));
+        for (int i = 0; i < 50_000; i++) {
+            Expression expression = expressions.expression(6);
+            String text = expressions.print(expression);
+            assertEquals(expression, PARSER.parseWhole(text), text);
+        }
+    }
+
+    @Test
+    void rejectsIncompleteExpressions() {
+        for (String text : new String[]{"1+", "(", "(1+2", "|1", "1+2)", "", "*2", "2 3"}) {
+            assertThrows(IllegalArgumentException.class, () -> PARSER.parseWhole(text), text);
+        }
+        assertFalse(PARSER.parse("+1").success());
+    }
+
+    @Test
+    void leavesWhatCannotBeParsedInTheFollow() {
+        Token<Expression> token = PARSER.parse(" 1+2)*3");
+        assertEquals(new Expression.Binary(Operator.ADDITION, new Expression.Literal(1), new Expression.Literal(2)), token.value());
+        assertEquals(")*3", token.follow());
+        // An operator without a right operand is not part of the expression
+        assertEquals("+", PARSER.parse("1+").follow());
+    }
+
+    private static double evaluate(String text) {
+        return PARSER.parseWhole(text).evaluate();
+    }
+}
@@ -0,0 +1,162 @@
+package com.epra.eprascript.parsers.math;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.primitive.DoubleParser;
+import com.epra.eprascript.parsers.primitive.DoubleToken;
+import com.epra.eprascript.parsers.primitive.IntToken;
+import com.epra.eprascript.parsers.primitive.LongToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/// Tests that the [NumberScanner] behind [NumberParsers#DOUBLE_PARSER], [NumberParsers#SCIENTIFIC_PARSER],
+/// [NumberParsers#INTEGER_PARSER] and [NumberParsers#LONG_PARSER] gives the same values as the JDK, bit for bit.
+/// @author Striker-909
+/// @since v0.3.0
+class NumberParsersTest {
+    /// Text that can surround a number without becoming part of it.
+    private static final String SURROUNDINGS = "abx+*/( .e";
+
+    @Test
+    void parsesDoublesLikeParseDouble() {
+        Random random = new Random(6);
+        for (int i = 0; i < 200_000; i++) {
+            String number = randomSign(random) + randomDigits(random) + (random.nextBoolean() ? "." + randomDigits(random) : "");
+            assertParsesDouble(NumberParsers.DOUBLE_PARSER, random, number);
+        }
+    }
+
+    @Test
+    void parsesExponentsLikeParseDouble() {
+        Random random = new Random(60);
+        for (int i = 0; i < 200_000; i++) {
+            String number = randomSign(random) + randomDigits(random) + (random.nextBoolean() ? "." + randomDigits(random) : "")
+                    + (random.nextBoolean() ? "e" : "E") + (random.nextInt(3) == 0 ? "" : random.nextBoolean() ? "+" : "-")
+                    + randomExponent(random);
+            assertParsesDouble(NumberParsers.SCIENTIFIC_PARSER, random, number);
+        }
+    }
+
+    @Test
+    void parsesNumbersAtTheLimitsOfTheExactPathLikeParseDouble() {
+        Random random = new Random(600);
+        long limit = 1L << 53;
+        for (int i = 0; i < 100_000; i++) {
+            // Mantissas on both sides of 2^53, with decimal exponents on both sides of +-22
+            String digits = Long.toString(limit + random.nextInt(64) - 32);
+            int point = random.nextInt(digits.length() + 1);
+            String mantissa = point == digits.length() ? digits : digits.substring(0, point) + "." + digits.substring(point);
+            if (mantissa.startsWith(".")) mantissa = "0" + mantissa;
+            int exponent = random.nextInt(12) + 17;
+            String number = randomSign(random) + mantissa + "e" + (random.nextBoolean() ? "-" : "") + exponent;
+            assertParsesDouble(NumberParsers.SCIENTIFIC_PARSER, random, number);
+            // Mantissas around the limit of the long accumulator, with and without a fraction
+            String longMantissa = randomDigitsOfLength(random, 17 + random.nextInt(4));
+            assertParsesDouble(NumberParsers.DOUBLE_PARSER, random, longMantissa);
+            assertParsesDouble(NumberParsers.DOUBLE_PARSER, random, longMantissa + "." + randomDigitsOfLength(random, 1 + random.nextInt(20)));
+        }
+    }
+
+    @Test
+    void parsesIntegersLikeParseIntAndParseLong() {
+        Random random = new Random(66);
+        for (int i = 0; i < 200_000; i++) {
+            int n = random.nextInt();
+            String prefix = randomSurroundings(random);
+            IntToken t = NumberParsers.INTEGER_PARSER.parseInt(prefix + n + "x");
+            assertEquals(n, t.value(), prefix + n);
+            assertEquals(prefix.length(), t.start());
+            long l = random.nextLong() % 9_000_000_000_000_000_000L;
+            LongToken u = NumberParsers.LONG_PARSER.parseLong(prefix + l + ".5");
+            assertEquals(l, u.value(), prefix + l);
+            assertEquals(prefix.length() + Long.toString(l).length(), u.end());
+        }
+    }
+
+    @Test
+    void failsWithoutDigits() {
+        assertFalse(NumberParsers.DOUBLE_PARSER.parseDouble("-.e+x").success());
+        assertFalse(NumberParsers.INTEGER_PARSER.parseInt("").success());
+        // An exponent without digits is not part of the number
+        DoubleToken t = NumberParsers.SCIENTIFIC_PARSER.parseDouble("2.5e+x");
+        assertEquals(2.5, t.value());
+        assertEquals("e+x", t.follow());
+    }
+
+    @Test
+    void addsFractionDigitsInOrder() {
+        DoubleParser decimal = NumberParsers.DECIMAL_MAP.map(NumberParsers.DIGIT_LIST_PARSER);
+        assertEquals(0.125, decimal.parseDouble("125").value());
+        assertEquals(0.25, decimal.parseDouble("x25").value());
+        Random random = new Random(606);
+        for (int i = 0; i < 10_000; i++) {
+            String digits = randomDigitsOfLength(random, 1 + random.nextInt(8));
+            double expected = Double.parseDouble("0." + digits);
+            assertEquals(expected, decimal.parseDouble(digits).value(), 2 * Math.ulp(expected), digits);
+        }
+    }
+
+    @Test
+    void matchesTheSectionsOfTheMapParsers() {
+        Parser<Number> maps = NumberParsers.SIGN_MAP.map(NumberParsers.REAL_MAP.map(
+                NumberParsers.NATURAL_MAP.map(NumberParsers.DIGIT_LIST_PARSER)));
+        Random random = new Random(6060);
+        for (int i = 0; i < 20_000; i++) {
+            String s = randomSurroundings(random) + randomSign(random) + randomDigitsOfLength(random, 1 + random.nextInt(6))
+                    + (random.nextBoolean() ? "." + randomDigitsOfLength(random, 1 + random.nextInt(6)) : "") + randomSurroundings(random);
+            Token<Number> expected = maps.parse(s);
+            DoubleToken actual = NumberParsers.DOUBLE_PARSER.parseDouble(s);
+            assertEquals(expected.start(), actual.start(), s);
+            assertEquals(expected.end(), actual.end(), s);
+            assertEquals(expected.value().doubleValue(), actual.value(), Math.ulp(actual.value()) * 4, s);
+        }
+    }
+
+    /// Parses the number between random surroundings and checks its value bit for bit and its section.
+    private static void assertParsesDouble(DoubleParser parser, Random random, String number) {
+        String prefix = randomSurroundings(random);
+        String s = prefix + number + randomSurroundings(random);
+        DoubleToken t = parser.parseDouble(s);
+        double expected = Double.parseDouble(number);
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(t.value()), () -> number + " -> " + t.value() + ", expected " + expected);
+        assertEquals(prefix.length(), t.start(), number);
+        assertEquals(prefix.length() + number.length(), t.end(), number);
+    }
+
+    /// Returns text that ends in something other than a `-` or digit, so it does not change the number after it.
+    private static String randomSurroundings(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int n = random.nextInt(4);
+        for (int i = 0; i < n; i++) sb.append(SURROUNDINGS.charAt(random.nextInt(SURROUNDINGS.length())));
+        return sb.toString();
+    }
+
+    private static String randomSign(Random random) {
+        return random.nextInt(3) == 0 ? "-" : "";
+    }
+
+    /// Returns mostly short digit strings, and sometimes ones longer than a long can hold.
+    private static String randomDigits(Random random) {
+        return randomDigitsOfLength(random, 1 + (random.nextInt(8) == 0 ? random.nextInt(40) : random.nextInt(10)));
+    }
+
+    private static String randomDigitsOfLength(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append((char) ('0' + random.nextInt(10)));
+        return sb.toString();
+    }
+
+    /// Returns exponents mostly near the exact range, and sometimes near the limits of a double.
+    private static String randomExponent(Random random) {
+        int e = switch (random.nextInt(4)) {
+            case 0 -> 300 + random.nextInt(30);
+            case 1 -> random.nextInt(100_000) * 10;
+            default -> random.nextInt(30);
+        };
+        return (random.nextInt(5) == 0 ? "0" : "") + e;
+    }
+}
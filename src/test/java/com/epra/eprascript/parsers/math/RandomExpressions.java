@@ -0,0 +1,85 @@
+package com.epra.eprascript.parsers.math;
+
+import java.util.Random;
+
+/// Builds random [`Expressions`](Expression) and prints them as text that [ExpressionParser] parses back into the
+/// same tree, with parentheses only where precedence and left associativity need them.
+/// @author Striker-909
+/// @since v0.3.0
+final class RandomExpressions {
+    static final String[] VARIABLES = {"a", "b", "x_1", "Total"};
+    private static final String[] LITERALS = {"0", "1", "2", "3", "7", "10", "0.5", "2.25", "12.125", "-1", "-2", "-0.5", "-0"};
+
+    private final Random random;
+
+    RandomExpressions(Random random) {
+        this.random = random;
+    }
+
+    /// Returns a random expression at most `depth` operators deep.
+    Expression expression(int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            return random.nextBoolean()
+                    ? new Expression.Literal(Double.parseDouble(LITERALS[random.nextInt(LITERALS.length)]))
+                    : new Expression.Variable(VARIABLES[random.nextInt(VARIABLES.length)]);
+        }
+        return switch (random.nextInt(8)) {
+            case 0 -> new Expression.Negation(expression(depth - 1));
+            case 1 -> new Expression.Absolute(expression(depth - 1));
+            default -> new Expression.Binary(
+                    Operator.values()[random.nextInt(Operator.values().length)], expression(depth - 1), expression(depth - 1));
+        };
+    }
+
+    /// Prints an expression, with random spaces around binary operators.
+    String print(Expression expression) {
+        StringBuilder sb = new StringBuilder();
+        print(expression, sb);
+        return sb.toString();
+    }
+
+    private void print(Expression expression, StringBuilder sb) {
+        switch (expression) {
+            case Expression.Literal l -> sb.append(literal(l.value()));
+            case Expression.Variable v -> sb.append(v.name());
+            case Expression.Negation n -> {
+                sb.append('-');
+                // A `-` directly before a digit is part of the number, so a negated number needs parentheses
+                if (n.operand() instanceof Expression.Literal || n.operand() instanceof Expression.Binary) {
+                    sb.append('(');
+                    print(n.operand(), sb);
+                    sb.append(')');
+                } else {
+                    print(n.operand(), sb);
+                }
+            }
+            case Expression.Absolute a -> {
+                sb.append('|');
+                print(a.operand(), sb);
+                sb.append('|');
+            }
+            case Expression.Binary b -> {
+                int precedence = b.operator().precedence();
+                // Operators are left-associative, so only the right side needs parentheses at the same precedence
+                printOperand(b.left(), b.left() instanceof Expression.Binary l && l.operator().precedence() < precedence, sb);
+                String space = random.nextInt(4) == 0 ? " " : "";
+                sb.append(space).append(b.operator().symbol()).append(space);
+                printOperand(b.right(), b.right() instanceof Expression.Binary r && r.operator().precedence() <= precedence, sb);
+            }
+        }
+    }
+
+    private void printOperand(Expression operand, boolean parentheses, StringBuilder sb) {
+        if (parentheses) sb.append('(');
+        print(operand, sb);
+        if (parentheses) sb.append(')');
+    }
+
+    private static String literal(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            String s = Long.toString((long) value);
+            return Double.doubleToRawLongBits(value) == Double.doubleToRawLongBits(-0.0) ? "-0" : s;
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,182 @@
+package com.epra.eprascript.parsers.modifiers;
+
+import com.epra.eprascript.parsers.Parser;
+import com.epra.eprascript.parsers.Token;
+import com.epra.eprascript.parsers.alphanumeric.CharParser;
+import com.epra.eprascript.parsers.alphanumeric.RegExParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/// Tests that [`Combinations`](Combination) parse like the nested binary parsers the built-in
+/// [`Combinators`](Combinator) built before they were flattened.
+/// @author Striker-909
+/// @since v0.3.0
+class CombinationTest {
+    private static final Parser<?> A = new CharParser('a');
+    private static final Parser<?> B = new CharParser('b');
+    private static final Parser<?> AB = new RegExParser("ab+");
+    private static final Parser<?> DIGITS = new RegExParser("[0-9]+");
+    private static final Parser<?> B_OR_BA = new RegExParser("ba|b");
+    private static final Parser<?> NEVER = new Parser<>((s, from, to) -> Token.failure(s, from, to));
+    private static final Parser<?>[] LEAVES = {A, B, AB, DIGITS, B_OR_BA, NEVER};
+
+    /// The binary folds of each built-in combinator, as they were before [Combination].
+    private static final Combinator OR = new Combinator((p1, p2) -> new Parser<Object>((s, from, to) -> {
+        Token<?> t = p1.parse(s, from, to);
+        Token<?> u = p2.parse(s, from, to);
+        if (t.success() && !u.success()) return cast(t);
+        if (u.success() && !t.success()) return cast(u);
+        if (!t.success()) return Token.failure(s, from, to);
+        return cast(t.followLength() >= u.followLength() ? t : u);
+    }));
+    private static final Combinator AND = new Combinator((p1, p2) -> new Parser<Object>((s, from, to) -> {
+        Token<?> t = p1.parse(s, from, to);
+        Token<?> u = p2.parse(s, from, to);
+        if (!t.success() || !u.success()) return Token.failure(s, from, to);
+        return cast(t.followLength() >= u.followLength() ? t : u);
+    }));
+    private static final Combinator AND_1 = new Combinator((p1, p2) -> new Parser<Object>((s, from, to) -> {
+        Token<?> t = p1.parse(s, from, to);
+        Token<?> u = p2.parse(s, from, to);
+        return !t.success() || !u.success() ? Token.failure(s, from, to) : cast(t);
+    }));
+    private static final Combinator AND_2 = new Combinator((p1, p2) -> new Parser<Object>((s, from, to) -> {
+        Token<?> t = p1.parse(s, from, to);
+        Token<?> u = p2.parse(s, from, to);
+        return !t.success() || !u.success() ? Token.failure(s, from, to) : cast(u);
+    }));
+    private static final Combinator SEQUENCE = new Combinator((p1, p2) -> new Parser<Object>((s, from, to) -> {
+        Token<?> t = p1.parse(s, from, to);
+        return t.success() ? cast(t) : cast(p2.parse(s, from, to));
+    }));
+    private static final Combinator[] BUILT_IN = {Combinator.OR, Combinator.AND, Combinator.AND_1, Combinator.AND_2, Combinator.SEQUENCE};
+    private static final Combinator[] REFERENCE = {OR, AND, AND_1, AND_2, SEQUENCE};
+
+    @SuppressWarnings("unchecked")
+    private static Token<Object> cast(Token<?> t) {
+        return (Token<Object>) t;
+    }
+
+    @Test
+    void flattensChainsOfTheSameCombinator() {
+        assertEquals(List.of(A, B, AB, DIGITS), parts(Combinator.SEQUENCE.combine(A, B, AB, DIGITS)));
+        Parser<?> nested = Combinator.SEQUENCE.combine(Combinator.SEQUENCE.combine(A, B), Combinator.SEQUENCE.combine(AB, DIGITS));
+        assertEquals(List.of(A, B, AB, DIGITS), parts(nested));
+    }
+
+    @Test
+    void keepsCombinationsOfOtherCombinatorsAsParts() {
+        Parser<?> inner = Combinator.SEQUENCE.combine(A, B);
+        assertEquals(List.of(inner, AB), parts(Combinator.AND.combine(inner, AB)));
+    }
+
+    @Test
+    void keepsTheFirstOccurrenceOfRepeatedParts() {
+        assertEquals(List.of(A, B), parts(Combinator.SEQUENCE.combine(A, B, A)));
+        assertEquals(List.of(AB, B), parts(Combinator.AND_1.combine(AB, B, AB, B)));
+    }
+
+    @Test
+    void keepsTheLastOccurrenceOfRepeatedPartsForAnd2() {
+        Parser<?> combined = Combinator.AND_2.combine(B_OR_BA, B, B_OR_BA);
+        assertEquals(List.of(B, B_OR_BA), parts(combined));
+        // AND_2 returns the output of its last part, which is B_OR_BA and not B
+        assertEquals("ba", combined.parse("ba").value());
+    }
+
+    @Test
+    void parsesLikeTheBinaryFolds() {
+        Random random = new Random(21);
+        for (int tree = 0; tree < 2000; tree++) {
+            Parser<?>[] pair = randomPair(random, 3);
+            for (int input = 0; input < 30; input++) {
+                String s = randomInput(random);
+                int from = random.nextInt(s.length() + 1);
+                int to = from + random.nextInt(s.length() - from + 1);
+                assertEquals(observed(pair[1].parse(s, from, to)), observed(pair[0].parse(s, from, to)), () -> "\"" + s + "\" [" + from + ", " + to + ")");
+            }
+        }
+    }
+
+    @Test
+    void adaptiveSequencesTryTheMostSuccessfulPartsFirst() {
+        // Each part only succeeds on regions of a single letter, so no two parts succeed on the same region
+        int[] calls = new int[4];
+        Parser<?>[] parts = new Parser<?>[4];
+        for (int i = 0; i < parts.length; i++) {
+            int part = i;
+            char letter = (char) ('a' + i);
+            parts[i] = new Parser<>((s, from, to) -> {
+                calls[part]++;
+                for (int j = from; j < to; j++) {
+                    if (s.charAt(j) != letter) return Token.failure(s, from, to);
+                }
+                return from < to ? new Token<>(letter, s, from, from, to, to, true) : Token.failure(s, from, to);
+            });
+        }
+        Combination sequence = (Combination) Combinator.SEQUENCE.combine(parts[0], parts[1], parts[2], parts[3]);
+        Parser<Object> adaptive = sequence.adaptive();
+        adaptive.parse("ddd");
+        assertEquals(List.of(1, 1, 1, 1), List.of(calls[0], calls[1], calls[2], calls[3]));
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            // The later parts succeed most often, and some inputs match no part
+            int r = random.nextInt(100);
+            String s = r < 60 ? "ddd" : r < 85 ? "cc" : r < 95 ? "b" : r < 98 ? "aaaa" : "abcd";
+            int from = random.nextInt(s.length() + 1);
+            assertEquals(observed(sequence.parse(s, from, s.length())), observed(adaptive.parse(s, from, s.length())), s);
+        }
+        // The order changed, so d is tried first and a is no longer tried before it
+        Arrays.fill(calls, 0);
+        for (int i = 0; i < 100; i++) assertEquals('d', adaptive.parse("dd").value());
+        assertEquals(List.of(0, 0, 0, 100), List.of(calls[0], calls[1], calls[2], calls[3]));
+        assertEquals('c', adaptive.parse("c").value());
+        assertEquals(List.of(0, 0, 1, 101), List.of(calls[0], calls[1], calls[2], calls[3]));
+    }
+
+    /// Builds the same random tree of combinations with the built-in combinators and with their binary folds.
+    private static Parser<?>[] randomPair(Random random, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            Parser<?> leaf = LEAVES[random.nextInt(LEAVES.length)];
+            return new Parser<?>[]{leaf, leaf};
+        }
+        int kind = random.nextInt(BUILT_IN.length);
+        int n = 2 + random.nextInt(4);
+        List<Parser<?>[]> parts = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            // Repeats parts, and sometimes nests the same combinator, so flattening and deduplication are exercised
+            parts.add(!parts.isEmpty() && random.nextInt(4) == 0 ? parts.get(random.nextInt(parts.size())) : randomPair(random, depth - 1));
+        }
+        Parser<?> built = parts.get(0)[0];
+        Parser<?> reference = parts.get(0)[1];
+        for (int i = 1; i < n; i++) {
+            built = BUILT_IN[kind].combine(built, parts.get(i)[0]);
+            reference = REFERENCE[kind].combine(reference, parts.get(i)[1]);
+        }
+        return new Parser<?>[]{built, reference};
+    }
+
+    private static String randomInput(Random random) {
+        String alphabet = "ab0c ";
+        StringBuilder sb = new StringBuilder();
+        int n = random.nextInt(9);
+        for (int i = 0; i < n; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    /// Returns what a caller can observe of a token: only that it failed, or its value, `head` and `follow`.
+    private static List<?> observed(Token<?> t) {
+        return t.success() ? List.of(t.value(), t.head(), t.follow()) : List.of(false);
+    }
+
+    private static List<Parser<?>> parts(Parser<?> parser) {
+        return assertInstanceOf(Combination.class, parser).parts();
+    }
+}
@@ -0,0 +1,95 @@
+package com.epra.eprascript.parsers.alphanumeric;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/// A [ScanBackend] that compares as many characters at a time as the widest vectors of the CPU hold,
+/// such as 32 `char`s or 64 `byte`s with AVX-512.
+///
+/// Each character of the set is compared with every lane, and the masks are combined, so sets of up to
+/// `8` characters are searched with vectors. Larger sets, and the lanes left over at the end of a range,
+/// are searched by the scalar backend.
+///
+/// Requires the `jdk.incubator.vector` module, so it must only be loaded by [ScanBackend#load()].
+/// @author Striker-909
+/// @since v0.3.0
+final class VectorScanBackend extends ScanBackend {
+    private static final VectorSpecies<Short> CHARS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    /// The largest set that is searched with vectors, beyond which a bitset lookup per character is faster.
+    private static final int MAX_SET = 8;
+
+    String name() {
+        return "vector";
+    }
+
+    boolean vectorized() {
+        return true;
+    }
+
+    int indexOf(char[] a, int from, int to, char[] chars, long[] bits) {
+        if (chars.length == 0) return -1;
+        if (chars.length > MAX_SET) return super.indexOf(a, from, to, chars, bits);
+        int i = from;
+        int bound = from + CHARS.loopBound(to - from);
+        // Sets are padded by repeating their last character, so every compare is unrolled and no mask escapes
+        short c0 = (short) chars[0], c1 = (short) pad(chars, 1), c2 = (short) pad(chars, 2), c3 = (short) pad(chars, 3);
+        if (chars.length == 1) {
+            for (; i < bound; i += CHARS.length()) {
+                VectorMask<Short> m = ShortVector.fromCharArray(CHARS, a, i).eq(c0);
+                if (m.anyTrue()) return i + m.firstTrue();
+            }
+        } else if (chars.length <= 4) {
+            for (; i < bound; i += CHARS.length()) {
+                ShortVector v = ShortVector.fromCharArray(CHARS, a, i);
+                VectorMask<Short> m = v.eq(c0).or(v.eq(c1)).or(v.eq(c2)).or(v.eq(c3));
+                if (m.anyTrue()) return i + m.firstTrue();
+            }
+        } else {
+            short c4 = (short) pad(chars, 4), c5 = (short) pad(chars, 5), c6 = (short) pad(chars, 6), c7 = (short) pad(chars, 7);
+            for (; i < bound; i += CHARS.length()) {
+                ShortVector v = ShortVector.fromCharArray(CHARS, a, i);
+                VectorMask<Short> m = v.eq(c0).or(v.eq(c1)).or(v.eq(c2)).or(v.eq(c3))
+                        .or(v.eq(c4)).or(v.eq(c5)).or(v.eq(c6)).or(v.eq(c7));
+                if (m.anyTrue()) return i + m.firstTrue();
+            }
+        }
+        return super.indexOf(a, i, to, chars, bits);
+    }
+
+    int indexOf(byte[] a, int from, int to, char[] chars, long[] bits) {
+        if (chars.length == 0) return -1;
+        if (chars.length > MAX_SET) return super.indexOf(a, from, to, chars, bits);
+        int i = from;
+        int bound = from + BYTES.loopBound(to - from);
+        byte c0 = (byte) chars[0], c1 = (byte) pad(chars, 1), c2 = (byte) pad(chars, 2), c3 = (byte) pad(chars, 3);
+        if (chars.length == 1) {
+            for (; i < bound; i += BYTES.length()) {
+                VectorMask<Byte> m = ByteVector.fromArray(BYTES, a, i).eq(c0);
+                if (m.anyTrue()) return i + m.firstTrue();
+            }
+        } else if (chars.length <= 4) {
+            for (; i < bound; i += BYTES.length()) {
+                ByteVector v = ByteVector.fromArray(BYTES, a, i);
+                VectorMask<Byte> m = v.eq(c0).or(v.eq(c1)).or(v.eq(c2)).or(v.eq(c3));
+                if (m.anyTrue()) return i + m.firstTrue();
+            }
+        } else {
+            byte c4 = (byte) pad(chars, 4), c5 = (byte) pad(chars, 5), c6 = (byte) pad(chars, 6), c7 = (byte) pad(chars, 7);
+            for (; i < bound; i += BYTES.length()) {
+                ByteVector v = ByteVector.fromArray(BYTES, a, i);
+                VectorMask<Byte> m = v.eq(c0).or(v.eq(c1)).or(v.eq(c2)).or(v.eq(c3))
+                        .or(v.eq(c4)).or(v.eq(c5)).or(v.eq(c6)).or(v.eq(c7));
+                if (m.anyTrue()) return i + m.firstTrue();
+            }
+        }
+        return super.indexOf(a, i, to, chars, bits);
+    }
+
+    /// Returns a character of a set, or its last character if the set is smaller.
+    private static char pad(char[] chars, int k) {
+        return chars[Math.min(k, chars.length - 1)];
+    }
+}